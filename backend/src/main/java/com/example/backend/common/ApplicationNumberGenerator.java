@@ -0,0 +1,174 @@
+package com.example.backend.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 申请编号生成器
+ * 编号格式：前缀 + 年月日 + 至少 4 位序号（如 YY202501010001），序号按“前缀 + 日期”独立计数；
+ * 每次从数据库序列表预留一段序号（独立事务，一条更新语句），段内编号在内存中无锁分配，
+ * 多实例各自预留不重叠的号段，因此编号不会重复；实例重启时未用完的号段会被跳过。
+ * 预留使用专用的小连接池：调用方通常已在事务中持有主连接池的连接，
+ * 若再从主连接池取连接，并发创建时所有连接都可能被等待预留的事务占满
+ */
+@Component
+public class ApplicationNumberGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationNumberGenerator.class);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final int MAX_CACHED_BLOCKS = 1000;
+
+    /**
+     * 预留号段的最多尝试次数（并发创建序列时主键冲突、死锁或锁等待超时后重试）
+     */
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    /**
+     * 用印申请编号前缀
+     */
+    public static final String SEAL_APPLICATION_PREFIX = "YY";
+
+    /**
+     * 印章创建申请编号前缀
+     */
+    public static final String SEAL_CREATE_APPLICATION_PREFIX = "SC";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${application.number.block-size:100}")
+    private int blockSize;
+
+    @Value("${application.number.pool-size:2}")
+    private int poolSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * 按序列名称的预留锁：同一序列同时只有一个线程访问数据库，不同序列互不阻塞
+     */
+    private final Map<String, Object> refillLocks = new ConcurrentHashMap<>();
+
+    private HikariDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void start() {
+        dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("number-sequence");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @PreDestroy
+    public void stop() {
+        dataSource.close();
+    }
+
+    /**
+     * 生成下一个编号
+     *
+     * @param prefix 编号前缀，见 {@link #SEAL_APPLICATION_PREFIX}、{@link #SEAL_CREATE_APPLICATION_PREFIX}
+     */
+    public String next(String prefix) {
+        return next(prefix, LocalDate.now());
+    }
+
+    /**
+     * 按指定日期生成编号（导入历史申请时按申请日期编号）
+     */
+    public String next(String prefix, LocalDate date) {
+        String sequenceName = prefix + date.format(DATE_FORMAT);
+        while (true) {
+            Block block = blocks.get(sequenceName);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return sequenceName + String.format("%04d", value);
+                }
+            }
+            refill(sequenceName, block);
+        }
+    }
+
+    /**
+     * 当前号段用完时预留下一段；同一序列的多个线程同时用完时只有一个线程访问数据库
+     */
+    private void refill(String sequenceName, Block exhausted) {
+        synchronized (refillLocks.computeIfAbsent(sequenceName, name -> new Object())) {
+            if (blocks.get(sequenceName) != exhausted) {
+                return;
+            }
+            long end = reserve(sequenceName);
+            // 导入历史申请会涉及大量日期，超过上限时丢弃其他日期未用完的号段；
+            // 与其他序列的预留并发清理时最多多预留一段，号段来自数据库，不会重复
+            if (blocks.size() >= MAX_CACHED_BLOCKS) {
+                blocks.clear();
+                refillLocks.clear();
+            }
+            blocks.put(sequenceName, new Block(end - blockSize, end));
+        }
+    }
+
+    /**
+     * 在专用连接池的独立事务中预留 blockSize 个序号，返回号段结束值（不含）；
+     * 先更新（行锁持有到事务结束）再读取，读到的是本次预留后的值；
+     * 序列不存在时插入，多实例同时插入时主键冲突的一方重试更新，死锁或锁等待超时时整个事务重试
+     */
+    private long reserve(String sequenceName) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    if (jdbcTemplate.update("UPDATE number_sequences SET next_value = next_value + ? WHERE name = ?",
+                            blockSize, sequenceName) > 0) {
+                        return jdbcTemplate.queryForObject("SELECT next_value FROM number_sequences WHERE name = ?",
+                                Long.class, sequenceName);
+                    }
+                    jdbcTemplate.update("INSERT INTO number_sequences (name, next_value) VALUES (?, ?)",
+                            sequenceName, 1L + blockSize);
+                    return 1L + blockSize;
+                });
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("预留编号序列 {} 失败（{}），第 {} 次重试", sequenceName, e.getClass().getSimpleName(), attempt);
+            }
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.backend.common;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV 流式写入
+ * 按 RFC 4180 输出（含逗号、双引号或换行的字段用双引号包围，内部双引号写两次），行尾为 CRLF，
+ * 与 {@link CsvReader} 互为逆操作；
+ * 以 = + - @ 制表符或回车开头的字段在 Excel、WPS 中会被当作公式执行，输出时加单引号前缀并用双引号包围，
+ * 读取时用 {@link #stripFormulaPrefix(String)} 还原
+ */
+public class CsvWriter implements Flushable {
+
+    private static final char FORMULA_PREFIX = '\'';
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * 写入 UTF-8 BOM，Excel 据此识别编码，避免中文乱码
+     */
+    public void writeBom() throws IOException {
+        writer.write('\uFEFF');
+    }
+
+    /**
+     * 写入一条记录，null 写为空字段
+     */
+    public void writeRecord(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 去掉输出时为防止公式执行而加的单引号前缀（单引号后为公式起始字符或单引号时才去掉）
+     */
+    public static String stripFormulaPrefix(String value) {
+        return value.length() > 1 && value.charAt(0) == FORMULA_PREFIX && needsFormulaPrefix(value.charAt(1))
+                ? value.substring(1)
+                : value;
+    }
+
+    /**
+     * 以这些字符开头的字段需要加前缀；单引号本身也加前缀，读取时去掉前缀后与原值一致
+     */
+    private static boolean needsFormulaPrefix(char first) {
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r'
+                || first == FORMULA_PREFIX;
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = !value.isEmpty() && needsFormulaPrefix(value.charAt(0));
+        if (quote) {
+            value = FORMULA_PREFIX + value;
+        }
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.backend.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 
 /**
  * 分页响应格式
+ * 偏移分页返回 total/totalPages；游标分页和 Slice 分页不做 COUNT 查询，返回 hasNext
+ * （Slice 分页可能附带缓存的近似总数，此时 totalApproximate 为 true）
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
 
     private List<T> list;
@@ -12,6 +18,9 @@ public class PageResponse<T> {
     private Integer page;
     private Integer size;
     private Integer totalPages;
+    private Boolean hasNext;
+    private String nextCursor;
+    private Boolean totalApproximate;
 
     public PageResponse() {
     }
@@ -24,6 +33,42 @@ public class PageResponse<T> {
         this.totalPages = (int) Math.ceil((double) total / size);
     }
 
+    /**
+     * Slice 分页响应（不统计总数）
+     *
+     * @param slice       分页数据
+     * @param cachedTotal 缓存的近似总数，可为 null
+     */
+    public static <T> PageResponse<T> ofSlice(Slice<T> slice, Long cachedTotal) {
+        PageResponse<T> response = new PageResponse<>();
+        response.setList(slice.getContent());
+        response.setPage(slice.getNumber());
+        response.setSize(slice.getSize());
+        response.setHasNext(slice.hasNext());
+        if (cachedTotal != null) {
+            response.setTotal(cachedTotal);
+            response.setTotalPages((int) Math.ceil((double) cachedTotal / slice.getSize()));
+            response.setTotalApproximate(true);
+        }
+        return response;
+    }
+
+    /**
+     * 游标分页响应（不统计总数）
+     *
+     * @param list       当前页数据
+     * @param size       每页大小
+     * @param nextCursor 下一页游标，没有下一页时为 null
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> list, Integer size, String nextCursor) {
+        PageResponse<T> response = new PageResponse<>();
+        response.setList(list);
+        response.setSize(size);
+        response.setHasNext(nextCursor != null);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+
     // Getters and Setters
     public List<T> getList() {
         return list;
@@ -64,4 +109,28 @@ public class PageResponse<T> {
     public void setTotalPages(Integer totalPages) {
         this.totalPages = totalPages;
     }
+
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(Boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Boolean getTotalApproximate() {
+        return totalApproximate;
+    }
+
+    public void setTotalApproximate(Boolean totalApproximate) {
+        this.totalApproximate = totalApproximate;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
\ No newline at end of file
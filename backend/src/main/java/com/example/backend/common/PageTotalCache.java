@@ -0,0 +1,75 @@
+package com.example.backend.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 分页总数缓存
+ * 记录最近一次精确 COUNT 的结果，不统计总数的分页请求可以附带这个近似总数
+ */
+@Component
+public class PageTotalCache {
+
+    @Value("${page.total-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${page.total-cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 生成缓存键
+     *
+     * @param scope  列表名称
+     * @param params 查询条件
+     */
+    public static String key(String scope, Object... params) {
+        return scope + Arrays.toString(params);
+    }
+
+    /**
+     * 获取缓存的总数
+     *
+     * @return 总数；不存在或已过期时返回 null
+     */
+    public Long get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.total;
+    }
+
+    /**
+     * 记录精确总数
+     */
+    public void put(String key, long total) {
+        if (entries.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt < now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(total, System.currentTimeMillis() + ttlSeconds * 1000));
+    }
+
+    private static final class Entry {
+        private final long total;
+        private final long expiresAt;
+
+        private Entry(long total, long expiresAt) {
+            this.total = total;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.common;
+
+/**
+ * 请求内容超过大小上限
+ * 继承 IllegalArgumentException，未单独处理的调用方仍按参数错误处理
+ */
+public class PayloadTooLargeException extends IllegalArgumentException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
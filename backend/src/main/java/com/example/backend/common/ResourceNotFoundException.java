@@ -0,0 +1,12 @@
+package com.example.backend.common;
+
+/**
+ * 资源不存在
+ * 继承 IllegalArgumentException，未单独处理的调用方仍按参数错误处理
+ */
+public class ResourceNotFoundException extends IllegalArgumentException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
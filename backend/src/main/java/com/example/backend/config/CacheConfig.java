@@ -0,0 +1,42 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 缓存配置
+ * 缓存由 Caffeine 实现，容量和过期时间见 spring.cache.caffeine.spec
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * 印章（按ID）
+     */
+    public static final String SEALS = "seals";
+
+    /**
+     * 保管人名下的印章列表（按保管人）
+     */
+    public static final String SEALS_BY_KEEPER = "sealsByKeeper";
+
+    /**
+     * 缓存写入和失效在事务提交后执行，回滚的修改不会进入缓存
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${spring.cache.caffeine.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setCacheNames(List.of(SEALS, SEALS_BY_KEEPER));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
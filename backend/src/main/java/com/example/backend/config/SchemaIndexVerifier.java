@@ -0,0 +1,127 @@
+package com.example.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 索引检查
+ * 启动时读取数据库元数据，确认主要查询路径所需的索引都已建立（见 db/migration），
+ * 只比较索引的前导列，不依赖索引名称
+ */
+@Component
+public class SchemaIndexVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    /**
+     * 表名 → 期望存在的索引（按列顺序）
+     */
+    private static final Map<String, List<List<String>>> EXPECTED_INDEXES = Map.of(
+            "seal_applications", List.of(
+                    List.of("status", "apply_time"),
+                    List.of("applicant", "apply_time"),
+                    List.of("department"),
+                    List.of("approve_time"),
+                    List.of("seal_id", "status"),
+                    List.of("attachment_url")),
+            "seal_create_applications", List.of(
+                    List.of("status", "apply_time"),
+                    List.of("applicant", "apply_time")),
+            "seals", List.of(
+                    List.of("keeper"),
+                    List.of("name"),
+                    List.of("image_url")),
+            "users", List.of(
+                    List.of("real_name")),
+            "application_daily_stats", List.of(
+                    List.of("stat_date", "department", "seal_id", "status")),
+            "attachments", List.of(
+                    List.of("url"),
+                    List.of("hash")));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${schema.index-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schema.index-check.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<List<String>>> entry : EXPECTED_INDEXES.entrySet()) {
+                Collection<List<String>> existing = readIndexes(metaData, connection.getCatalog(), entry.getKey());
+                for (List<String> columns : entry.getValue()) {
+                    if (existing.stream().noneMatch(index -> startsWith(index, columns))) {
+                        missing.add(entry.getKey() + "(" + String.join(", ", columns) + ")");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("读取数据库索引信息失败，跳过索引检查", e);
+            return;
+        }
+
+        if (missing.isEmpty()) {
+            log.info("索引检查通过");
+        } else if (failOnMissing) {
+            throw new IllegalStateException("缺少索引: " + missing);
+        } else {
+            log.warn("缺少索引: {}，请检查数据库迁移是否执行", missing);
+        }
+    }
+
+    /**
+     * 读取表上所有索引的列（按索引内顺序，列名小写）
+     */
+    private Collection<List<String>> readIndexes(DatabaseMetaData metaData, String catalog, String table)
+            throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, TreeMap<Short, String>> indexes = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(catalog, null, tableName, false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                indexes.computeIfAbsent(indexName, name -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        List<List<String>> result = new ArrayList<>();
+        indexes.values().forEach(columns -> result.add(new ArrayList<>(columns.values())));
+        return result;
+    }
+
+    private static boolean startsWith(List<String> indexColumns, List<String> expected) {
+        return indexColumns.size() >= expected.size()
+                && indexColumns.subList(0, expected.size()).equals(expected);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.backend.config;
+
+import com.example.backend.repository.SealApplicationRepository;
+import com.example.backend.service.SealApplicationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 用印申请印章关联回填
+ * 启动时为尚未关联印章的历史申请按印章名称补上 seal_id；
+ * 每个印章名称一个事务，与新建印章时的关联走同一路径（版本号加一、逐条发布申请变更事件）
+ */
+@Component
+public class SealReferenceBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SealReferenceBackfill.class);
+
+    @Autowired
+    private SealApplicationRepository applicationRepository;
+
+    @Autowired
+    private SealApplicationService applicationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            int updated = 0;
+            for (Object[] row : applicationRepository.findUnlinkedSealNames()) {
+                String sealName = (String) row[0];
+                Long sealId = (Long) row[1];
+                updated += transactionTemplate.execute(tx -> applicationService.linkSeal(sealId, sealName));
+            }
+            if (updated > 0) {
+                log.info("已为 {} 条用印申请回填印章ID", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("用印申请印章ID回填失败", e);
+        }
+    }
+}
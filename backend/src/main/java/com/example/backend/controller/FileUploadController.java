@@ -1,21 +1,39 @@
 package com.example.backend.controller;
 
 import com.example.backend.common.ApiResponse;
+import com.example.backend.common.PayloadTooLargeException;
+import com.example.backend.common.ResourceNotFoundException;
+import com.example.backend.dto.ChunkedUploadStatus;
+import com.example.backend.entity.Attachment;
+import com.example.backend.storage.ChunkedUploadManager;
+import com.example.backend.storage.ContentStore;
+import com.example.backend.storage.FileDownloadWriter;
+import com.example.backend.storage.ImageVariants;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
 /**
  * 文件上传控制器
@@ -25,12 +43,39 @@ import java.util.UUID;
 @CrossOrigin(origins = "*")
 public class FileUploadController {
 
+    /**
+     * 文件分类（字母、数字、下划线、连字符，与上传记录的分类列长度一致）
+     */
+    private static final Pattern FILE_CATEGORY = Pattern.compile("[A-Za-z0-9_-]{1,50}");
+
+    /**
+     * 文件名、内容类型的最大长度（与上传记录的列长度一致）
+     */
+    private static final int MAX_FILENAME_LENGTH = 255;
+
+    private static final int MAX_CONTENT_TYPE_LENGTH = 100;
+
     @Value("${file.upload.path:uploads}")
     private String uploadPath;
 
     @Value("${file.upload.max-size:10485760}") // 10MB
     private long maxFileSize;
 
+    @Autowired
+    private FileDownloadWriter downloadWriter;
+
+    @Autowired
+    private ChunkedUploadManager chunkedUploadManager;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private ImageVariants imageVariants;
+
+    @Value("${file.image-variants.wait-ms:10000}")
+    private long variantWaitMs;
+
     /**
      * 上传文件
      */
@@ -57,6 +102,14 @@ public class FileUploadController {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.badRequest("文件名不能为空"));
             }
+            if (originalFilename.length() > MAX_FILENAME_LENGTH) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件名不能超过" + MAX_FILENAME_LENGTH + "个字符"));
+            }
+            if (file.getContentType() != null && file.getContentType().length() > MAX_CONTENT_TYPE_LENGTH) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件类型不能超过" + MAX_CONTENT_TYPE_LENGTH + "个字符"));
+            }
 
             // 验证文件类型
             String fileExtension = getFileExtension(originalFilename);
@@ -65,72 +118,366 @@ public class FileUploadController {
                         .body(ApiResponse.badRequest("不支持的文件类型，仅支持：pdf, doc, docx, txt, jpg, png, jpeg"));
             }
 
-            // 创建上传目录
-            String dateFolder = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            String uploadDir = uploadPath + File.separator + type + File.separator + dateFolder;
-            Path uploadDirPath = Paths.get(uploadDir);
+            if (!FILE_CATEGORY.matcher(type).matches()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件分类不合法: " + type));
+            }
 
-            if (!Files.exists(uploadDirPath)) {
-                Files.createDirectories(uploadDirPath);
+            // 保存文件（按内容去重，相同内容只保存一份）并写上传记录
+            Attachment attachment;
+            try (InputStream in = file.getInputStream()) {
+                attachment = contentStore.store(in, new Attachment(originalFilename, type, file.getContentType()));
             }
 
-            // 生成新文件名
-            String newFilename = UUID.randomUUID().toString() + "." + fileExtension;
-            Path filePath = uploadDirPath.resolve(newFilename);
+            // 图片在后台预生成缩略图等版本
+            pregenerateVariants(attachment);
 
-            // 保存文件
-            file.transferTo(filePath.toFile());
+            // 返回结果
+            Map<String, Object> result = toResult(attachment);
 
-            // 构建文件访问URL
-            String fileUrl = "/api/files/download/" + type + "/" + dateFolder + "/" + newFilename;
+            return ResponseEntity.ok(ApiResponse.success("文件上传成功", result));
 
-            // 返回结果
-            Map<String, Object> result = new HashMap<>();
-            result.put("filename", originalFilename);
-            result.put("url", fileUrl);
-            result.put("size", file.getSize());
-            result.put("type", file.getContentType());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("文件上传失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 流式上传文件（不经过 multipart 解析和容器临时文件）
+     * POST /api/files/upload/stream?filename=合同.pdf&type=attachment
+     * 请求体为文件原始内容，Content-Type 为文件类型（未指定或为 application/octet-stream 时按扩展名确定）；
+     * 边读取边计算摘要写入存储目录。Content-Length 超过上限时不读取请求体直接返回 413，
+     * 未声明长度的请求读取超过上限时立即中止，返回 413 并关闭连接
+     */
+    @PostMapping(value = "/upload/stream", consumes = { "!" + MediaType.MULTIPART_FORM_DATA_VALUE,
+            "!" + MediaType.APPLICATION_FORM_URLENCODED_VALUE })
+    public ResponseEntity<ApiResponse<Map<String, Object>>> uploadFileStream(
+            @RequestParam("filename") String filename,
+            @RequestParam(value = "type", defaultValue = "attachment") String type,
+            HttpServletRequest request) {
+
+        try {
+            String originalFilename = filename.trim();
+            if (originalFilename.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件名不能为空"));
+            }
+            if (originalFilename.length() > MAX_FILENAME_LENGTH) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件名不能超过" + MAX_FILENAME_LENGTH + "个字符"));
+            }
+            if (!isAllowedFileType(getFileExtension(originalFilename))) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("不支持的文件类型，仅支持：pdf, doc, docx, txt, jpg, png, jpeg"));
+            }
+            if (!FILE_CATEGORY.matcher(type).matches()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件分类不合法: " + type));
+            }
+            long contentLength = request.getContentLengthLong();
+            if (contentLength == 0) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件不能为空"));
+            }
+            if (contentLength > maxFileSize) {
+                throw new PayloadTooLargeException("文件大小不能超过" + maxFileSize / 1024 / 1024 + "MB");
+            }
+
+            MediaType declared = request.getContentType() != null
+                    ? MediaType.parseMediaType(request.getContentType()) : null;
+            String contentType = declared == null || MediaType.APPLICATION_OCTET_STREAM.equalsTypeAndSubtype(declared)
+                    ? MediaTypeFactory.getMediaType(originalFilename).orElse(MediaType.APPLICATION_OCTET_STREAM)
+                            .toString()
+                    : declared.toString();
+            if (contentType.length() > MAX_CONTENT_TYPE_LENGTH) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件类型不能超过" + MAX_CONTENT_TYPE_LENGTH + "个字符"));
+            }
+
+            Attachment attachment = contentStore.store(request.getInputStream(), maxFileSize,
+                    new Attachment(originalFilename, type, contentType));
+            pregenerateVariants(attachment);
+
+            Map<String, Object> result = toResult(attachment);
 
             return ResponseEntity.ok(ApiResponse.success("文件上传成功", result));
+        } catch (PayloadTooLargeException e) {
+            // 不再读取剩余的请求体，响应后关闭连接
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .header(HttpHeaders.CONNECTION, "close")
+                    .body(ApiResponse.error(413, e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("文件上传失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 创建分块上传任务
+     * POST /api/files/uploads
+     * 请求体：filename、size（字节），可选 type、chunkSize、sha256（整个文件）；
+     * 之后各分块可并行上传，中断后按 GET 返回的已收到分块补传，全部上传后调用 complete
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<ApiResponse<ChunkedUploadStatus>> initChunkedUpload(
+            @RequestBody Map<String, Object> request) {
+        try {
+            String filename = (String) request.get("filename");
+            String type = request.get("type") instanceof String value ? value : "attachment";
+            Long size = request.get("size") instanceof Number number ? number.longValue() : null;
+            Integer chunkSize = request.get("chunkSize") instanceof Number number ? number.intValue() : null;
+            String sha256 = (String) request.get("sha256");
 
-        } catch (IOException e) {
+            if (filename == null || filename.trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件名不能为空"));
+            }
+            if (filename.trim().length() > MAX_FILENAME_LENGTH) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件名不能超过" + MAX_FILENAME_LENGTH + "个字符"));
+            }
+            if (size == null) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件大小不能为空"));
+            }
+            if (!isAllowedFileType(getFileExtension(filename))) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("不支持的文件类型，仅支持：pdf, doc, docx, txt, jpg, png, jpeg"));
+            }
+            if (!FILE_CATEGORY.matcher(type).matches()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.badRequest("文件分类不合法: " + type));
+            }
+
+            ChunkedUploadStatus status = chunkedUploadManager.init(filename.trim(), type, size, chunkSize, sha256);
+            return ResponseEntity.ok(ApiResponse.success("上传任务已创建", status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("创建上传任务失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 查询分块上传状态（断点续传时获取已收到的分块）
+     * GET /api/files/uploads/{uploadId}
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ApiResponse<ChunkedUploadStatus>> getChunkedUpload(@PathVariable String uploadId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(chunkedUploadManager.status(uploadId)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
+        }
+    }
+
+    /**
+     * 上传一个分块
+     * PUT /api/files/uploads/{uploadId}/chunks/{index}
+     * 请求体为分块原始内容（application/octet-stream），可选请求头 X-Chunk-Sha256 校验分块内容
+     */
+    @PutMapping("/uploads/{uploadId}/chunks/{index}")
+    public ResponseEntity<ApiResponse<Void>> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String checksum,
+            HttpServletRequest request) {
+        try {
+            chunkedUploadManager.writeChunk(uploadId, index, request.getInputStream(), checksum);
+            return ResponseEntity.ok(ApiResponse.success("分块上传成功", null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("分块上传失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 完成分块上传，校验通过后返回与普通上传相同的文件信息
+     * POST /api/files/uploads/{uploadId}/complete
+     * 请求体可选 sha256（初始化时未提供时在此提供）
+     */
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> completeChunkedUpload(
+            @PathVariable String uploadId,
+            @RequestBody(required = false) Map<String, Object> request) {
+        try {
+            String sha256 = request != null ? (String) request.get("sha256") : null;
+            ChunkedUploadStatus status = chunkedUploadManager.status(uploadId);
+            Path temp = contentStore.newTempFile();
+            String digest = chunkedUploadManager.complete(uploadId, sha256, temp);
+            String contentType = MediaTypeFactory.getMediaType(status.filename())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+            Attachment attachment = contentStore.commit(temp, digest, status.size(),
+                    new Attachment(status.filename(), status.type(), contentType));
+            pregenerateVariants(attachment);
+
+            Map<String, Object> result = toResult(attachment);
+
+            return ResponseEntity.ok(ApiResponse.success("文件上传成功", result));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
+        } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("文件上传失败: " + e.getMessage()));
         }
     }
 
     /**
-     * 下载文件
+     * 取消分块上传
+     * DELETE /api/files/uploads/{uploadId}
+     */
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<ApiResponse<Void>> abortChunkedUpload(@PathVariable String uploadId) {
+        try {
+            chunkedUploadManager.abort(uploadId);
+            return ResponseEntity.ok(ApiResponse.success("上传已取消", null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("取消上传失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 按内容摘要下载文件
+     * GET /api/files/download/{sha256}.{扩展名}
+     * 扩展名只用于确定响应的内容类型；内容摘要即 ETag，内容不会变化，允许长期缓存
+     */
+    @GetMapping("/download/{filename}")
+    public void downloadStoredFile(
+            @PathVariable String filename,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        int dot = filename.indexOf('.');
+        String hash = (dot == -1 ? filename : filename.substring(0, dot)).toLowerCase(Locale.ROOT);
+        Path path;
+        try {
+            path = contentStore.resolve(hash);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        downloadWriter.write(path, filename, hash, request, response);
+    }
+
+    /**
+     * 图片缩略图 / 网页尺寸版本
+     * GET /api/files/images/{sha256}/{variant}，variant 为 thumbnail（长边 160 像素）或 web（长边 800 像素）
+     * 版本不在缓存中时等待生成（最长 file.image-variants.wait-ms）；生成队列已满时返回 503
+     */
+    @GetMapping("/images/{sha256}/{variant}")
+    public void downloadImageVariant(
+            @PathVariable String sha256,
+            @PathVariable String variant,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        ImageVariants.Variant imageVariant = ImageVariants.Variant.of(variant);
+        String hash = sha256.toLowerCase(Locale.ROOT);
+        Path path;
+        try {
+            if (imageVariant == null || !Files.isRegularFile(contentStore.resolve(hash))) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            path = imageVariants.variant(hash, imageVariant).get(variantWaitMs, TimeUnit.MILLISECONDS);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        } catch (RejectedExecutionException | TimeoutException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            throw new IOException("图片版本生成失败", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        downloadWriter.write(path, path.getFileName().toString(), path.getFileName().toString(), true, request,
+                response);
+    }
+
+    /**
+     * 下载文件（按日期目录保存的历史文件）
+     * 支持 Range 断点续传和 ETag / Last-Modified 条件请求；文件名为随机 UUID，内容不会变化，允许长期缓存
      */
     @GetMapping("/download/{type}/{year}/{month}/{day}/{filename}")
-    public ResponseEntity<byte[]> downloadFile(
+    public void downloadFile(
             @PathVariable String type,
             @PathVariable String year,
             @PathVariable String month,
             @PathVariable String day,
-            @PathVariable String filename) {
+            @PathVariable String filename,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
 
-        try {
-            String filePath = uploadPath + File.separator + type + File.separator +
-                    year + File.separator + month + File.separator + day + File.separator + filename;
-
-            Path path = Paths.get(filePath);
-
-            if (!Files.exists(path)) {
-                return ResponseEntity.notFound().build();
-            }
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Path path = root.resolve(Paths.get(type, year, month, day, filename)).normalize();
 
-            byte[] data = Files.readAllBytes(path);
+        // 路径参数中含 .. 时可能指向上传目录之外
+        if (!path.startsWith(root) || !Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
 
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                    .body(data);
+        downloadWriter.write(path, filename, null, request, response);
+    }
 
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
+    /**
+     * 上传的是图片时提交缩略图等版本的生成任务
+     */
+    private void pregenerateVariants(Attachment attachment) {
+        if (attachment.getContentType() != null && attachment.getContentType().startsWith("image/")) {
+            imageVariants.pregenerate(attachment.getHash());
         }
     }
 
+    /**
+     * 上传结果
+     */
+    private Map<String, Object> toResult(Attachment attachment) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", attachment.getId());
+        result.put("filename", attachment.getOriginalName());
+        result.put("url", attachment.getUrl());
+        result.put("size", attachment.getSize());
+        result.put("type", attachment.getContentType());
+        result.put("sha256", attachment.getHash());
+        return result;
+    }
+
     /**
      * 获取文件扩展名
      */
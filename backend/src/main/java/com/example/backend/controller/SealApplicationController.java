@@ -2,20 +2,54 @@ package com.example.backend.controller;
 
 import com.example.backend.common.ApiResponse;
 import com.example.backend.common.PageResponse;
+import com.example.backend.common.ResourceNotFoundException;
+import com.example.backend.dto.ApplicationImportResult;
+import com.example.backend.dto.BatchApprovalResult;
+import com.example.backend.dto.SealApplicationSummary;
+import com.example.backend.entity.Seal;
 import com.example.backend.entity.SealApplication;
+import com.example.backend.service.SealApplicationImportService;
 import com.example.backend.service.SealApplicationService;
+import com.example.backend.service.SealService;
+import com.example.backend.statistics.TrendGranularity;
+import com.example.backend.storage.ContentStore;
+import com.example.backend.storage.StampPreviewRenderer;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
  * 用印申请管理控制器
@@ -26,9 +60,23 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class SealApplicationController {
 
+    private static final DateTimeFormatter EXPORT_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     @Autowired
     private SealApplicationService applicationService;
 
+    @Autowired
+    private SealApplicationImportService importService;
+
+    @Autowired
+    private SealService sealService;
+
+    @Autowired
+    private StampPreviewRenderer stampPreviewRenderer;
+
+    @Value("${file.stamp-preview.wait-ms:30000}")
+    private long stampPreviewWaitMs;
+
     /**
      * 创建申请
      * POST /api/applications
@@ -37,56 +85,7 @@ public class SealApplicationController {
     public ResponseEntity<ApiResponse<SealApplication>> createApplication(@RequestBody SealApplication application) {
         try {
             // 参数验证
-            if (application.getSealName() == null || application.getSealName().trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("印章名称不能为空"));
-            }
-
-            if (application.getSealType() == null) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("印章类型不能为空"));
-            }
-
-            if (application.getSealShape() == null) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("印章形状不能为空"));
-            }
-
-            if (application.getApplicant() == null || application.getApplicant().trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("申请人不能为空"));
-            }
-
-            if (application.getDepartment() == null || application.getDepartment().trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("申请部门不能为空"));
-            }
-
-            if (application.getFileName() == null || application.getFileName().trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("文件名称不能为空"));
-            }
-
-            if (application.getAddressee() == null || application.getAddressee().trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("致何处不能为空"));
-            }
-
-            if (application.getCopies() == null || application.getCopies() <= 0) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("份数必须大于0"));
-            }
-
-            if (application.getPurpose() == null || application.getPurpose().trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("用印目的不能为空"));
-            }
-
-            if (application.getExpectedTime() == null) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.badRequest("期望用印时间不能为空"));
-            }
-
+            applicationService.validateNewApplication(application);
             SealApplication createdApplication = applicationService.createApplication(application);
             return ResponseEntity.ok(ApiResponse.success("申请创建成功", createdApplication));
         } catch (IllegalArgumentException e) {
@@ -185,12 +184,87 @@ public class SealApplicationController {
         }
     }
 
+    /**
+     * 用印预览：把印章图片盖到申请附件的指定页面上，返回预览 PDF
+     * GET /api/applications/{id}/stamp-preview?pages=1,3-4&x=0.75&y=0.85&size=42&sealId=
+     * pages 为页码（从 1 开始），默认最后一页；x、y 为印章中心在页面上的相对位置（自左上角，0~1）；
+     * size 为印章尺寸（毫米）；未指定 sealId 时使用申请的印章。
+     * 各页并行渲染，全部完成（最长 file.stamp-preview.wait-ms）后开始输出；渲染队列已满或超时返回 503
+     */
+    @GetMapping("/{id}/stamp-preview")
+    public void stampPreview(@PathVariable Long id,
+            @RequestParam(required = false) String pages,
+            @RequestParam(defaultValue = "0.75") double x,
+            @RequestParam(defaultValue = "0.85") double y,
+            @RequestParam(defaultValue = "${file.stamp-preview.seal-size-mm:42}") double size,
+            @RequestParam(required = false) Long sealId,
+            HttpServletResponse response) throws IOException {
+
+        SealApplication application;
+        String documentHash;
+        String sealHash;
+        List<Integer> pageIndexes;
+        StampPreviewRenderer.Placement placement;
+        try {
+            application = applicationService.getApplicationById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("申请不存在"));
+            documentHash = ContentStore.hashOf(application.getAttachmentUrl());
+            if (documentHash == null) {
+                throw new IllegalArgumentException(application.getAttachmentUrl() == null
+                        ? "申请没有附件" : "该附件不支持预览");
+            }
+            Long previewSealId = sealId != null ? sealId : application.getSealId();
+            if (previewSealId == null) {
+                throw new IllegalArgumentException("申请未关联印章，请指定 sealId");
+            }
+            Seal seal = sealService.findById(previewSealId)
+                    .orElseThrow(() -> new ResourceNotFoundException("印章不存在"));
+            sealHash = ContentStore.hashOf(seal.getImageUrl());
+            if (sealHash == null) {
+                throw new IllegalArgumentException("印章没有可用的印模图片");
+            }
+            placement = new StampPreviewRenderer.Placement(x, y, size);
+            pageIndexes = stampPreviewRenderer.selectPages(documentHash, pages);
+            stampPreviewRenderer.render(documentHash, sealHash, pageIndexes, placement)
+                    .get(stampPreviewWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ResourceNotFoundException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (RejectedExecutionException | TimeoutException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getCause().getMessage());
+                return;
+            }
+            throw new IOException("用印预览生成失败", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename("用印预览_" + application.getApplicationNo() + ".pdf", StandardCharsets.UTF_8)
+                .build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        stampPreviewRenderer.writePdf(documentHash, sealHash, pageIndexes, placement, response.getOutputStream());
+    }
+
     /**
      * 分页获取申请列表
      * GET /api/applications?page=0&size=10&sort=applyTime,desc
+     * 游标分页：GET /api/applications?cursor=true&size=20，之后传 after=上一页的 nextCursor
+     * 不统计总数：withTotal=false，只返回 hasNext（可能附带缓存的近似总数）
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<SealApplication>>> getApplications(
+    public ResponseEntity<ApiResponse<PageResponse<SealApplicationSummary>>> getApplications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "applyTime") String sortBy,
@@ -200,40 +274,82 @@ public class SealApplicationController {
             @RequestParam(required = false) String applicant,
             @RequestParam(required = false) String department,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         try {
+            boolean filtered = keyword != null || status != null || applicant != null ||
+                    department != null || startTime != null || endTime != null;
+
+            // 游标分页：按申请时间倒序定位，不做 OFFSET 和 COUNT
+            if (cursor || after != null) {
+                PageResponse<SealApplicationSummary> applications = applicationService.getApplicationsByCursor(
+                        keyword, status, applicant, department, startTime, endTime, after, size);
+                return ResponseEntity.ok(ApiResponse.success("获取申请列表成功", applications));
+            }
+
             Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
             Pageable pageable = PageRequest.of(page, size, sort);
 
-            PageResponse<SealApplication> applications;
-            if (keyword != null || status != null || applicant != null ||
-                    department != null || startTime != null || endTime != null) {
+            PageResponse<SealApplicationSummary> applications;
+            if (filtered) {
                 applications = applicationService.searchApplications(
-                        keyword, status, applicant, department, startTime, endTime, pageable);
+                        keyword, status, applicant, department, startTime, endTime, pageable, withTotal);
             } else {
-                applications = applicationService.getApplications(pageable);
+                applications = applicationService.getApplications(pageable, withTotal);
             }
 
             return ResponseEntity.ok(ApiResponse.success("获取申请列表成功", applications));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error(500, "获取申请列表失败: " + e.getMessage()));
         }
     }
 
+    /**
+     * 导出申请（CSV），筛选条件与列表搜索一致，边查询边输出
+     * GET /api/applications/export?status=APPROVED&department=...
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportApplications(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) SealApplication.ApplicationStatus status,
+            @RequestParam(required = false) String applicant,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        String filename = "用印申请_" + LocalDateTime.now().format(EXPORT_FILE_TIME) + ".csv";
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            applicationService.exportApplications(keyword, status, applicant, department, startTime, endTime,
+                    writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename, StandardCharsets.UTF_8).build().toString())
+                .body(body);
+    }
+
     /**
      * 获取我的申请
-     * GET /api/applications/my/{applicant}
+     * GET /api/applications/my/{applicant}?withTotal=false
      */
     @GetMapping("/my/{applicant}")
-    public ResponseEntity<ApiResponse<PageResponse<SealApplication>>> getMyApplications(
+    public ResponseEntity<ApiResponse<PageResponse<SealApplicationSummary>>> getMyApplications(
             @PathVariable String applicant,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         try {
             Pageable pageable = PageRequest.of(page, size,
                     Sort.by(Sort.Direction.DESC, "applyTime"));
-            PageResponse<SealApplication> applications = applicationService.getMyApplications(applicant, pageable);
+            PageResponse<SealApplicationSummary> applications = applicationService
+                    .getMyApplications(applicant, pageable, withTotal);
             return ResponseEntity.ok(ApiResponse.success("获取我的申请成功", applications));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -243,16 +359,18 @@ public class SealApplicationController {
 
     /**
      * 获取待审批申请
-     * GET /api/applications/pending
+     * GET /api/applications/pending?withTotal=false
      */
     @GetMapping("/pending")
-    public ResponseEntity<ApiResponse<PageResponse<SealApplication>>> getPendingApplications(
+    public ResponseEntity<ApiResponse<PageResponse<SealApplicationSummary>>> getPendingApplications(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         try {
             Pageable pageable = PageRequest.of(page, size,
                     Sort.by(Sort.Direction.ASC, "applyTime"));
-            PageResponse<SealApplication> applications = applicationService.getPendingApplications(pageable);
+            PageResponse<SealApplicationSummary> applications = applicationService
+                    .getPendingApplications(pageable, withTotal);
             return ResponseEntity.ok(ApiResponse.success("获取待审批申请成功", applications));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -265,13 +383,13 @@ public class SealApplicationController {
      * GET /api/applications/completed
      */
     @GetMapping("/completed")
-    public ResponseEntity<ApiResponse<PageResponse<SealApplication>>> getCompletedApplications(
+    public ResponseEntity<ApiResponse<PageResponse<SealApplicationSummary>>> getCompletedApplications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
             Pageable pageable = PageRequest.of(page, size,
                     Sort.by(Sort.Direction.DESC, "updateTime"));
-            PageResponse<SealApplication> applications = applicationService.getCompletedApplications(pageable);
+            PageResponse<SealApplicationSummary> applications = applicationService.getCompletedApplications(pageable);
             return ResponseEntity.ok(ApiResponse.success("获取已完成申请成功", applications));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -287,14 +405,11 @@ public class SealApplicationController {
     public ResponseEntity<ApiResponse<SealApplication>> approveApplication(@PathVariable Long id,
             @RequestBody Map<String, Object> request) {
         try {
-            if (!applicationService.getApplicationById(id).isPresent()) {
-                return ResponseEntity.notFound()
-                        .build();
-            }
-
             String statusStr = (String) request.get("status");
             String approver = (String) request.get("approver");
             String remark = (String) request.get("remark");
+            // 可选：页面加载时的版本号，期间申请被修改则返回 409
+            Long version = request.get("version") instanceof Number number ? number.longValue() : null;
 
             if (statusStr == null || statusStr.trim().isEmpty()) {
                 return ResponseEntity.badRequest()
@@ -314,8 +429,15 @@ public class SealApplicationController {
                         .body(ApiResponse.badRequest("无效的审批状态: " + statusStr));
             }
 
-            SealApplication updatedApplication = applicationService.approveApplication(id, status, approver, remark);
+            SealApplication updatedApplication = applicationService.approveApplication(id, status, approver, remark,
+                    version);
             return ResponseEntity.ok(ApiResponse.success("申请审批成功", updatedApplication));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409)
+                    .body(ApiResponse.error(409, e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.badRequest(e.getMessage()));
@@ -330,15 +452,17 @@ public class SealApplicationController {
      * POST /api/applications/{id}/complete
      */
     @PostMapping("/{id}/complete")
-    public ResponseEntity<ApiResponse<SealApplication>> completeApplication(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<SealApplication>> completeApplication(@PathVariable Long id,
+            @RequestParam(required = false) Long version) {
         try {
-            if (!applicationService.getApplicationById(id).isPresent()) {
-                return ResponseEntity.notFound()
-                        .build();
-            }
-
-            SealApplication completedApplication = applicationService.completeApplication(id);
+            SealApplication completedApplication = applicationService.completeApplication(id, version);
             return ResponseEntity.ok(ApiResponse.success("申请完成成功", completedApplication));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409)
+                    .body(ApiResponse.error(409, e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.badRequest(e.getMessage()));
@@ -356,11 +480,6 @@ public class SealApplicationController {
     public ResponseEntity<ApiResponse<Void>> withdrawApplication(@PathVariable Long id,
             @RequestBody Map<String, String> request) {
         try {
-            if (!applicationService.getApplicationById(id).isPresent()) {
-                return ResponseEntity.notFound()
-                        .build();
-            }
-
             String applicant = request.get("applicant");
             if (applicant == null || applicant.trim().isEmpty()) {
                 return ResponseEntity.badRequest()
@@ -374,6 +493,9 @@ public class SealApplicationController {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.badRequest("申请撤回失败"));
             }
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.badRequest(e.getMessage()));
@@ -384,15 +506,17 @@ public class SealApplicationController {
     }
 
     /**
-     * 批量审批申请
+     * 批量审批申请，返回每个申请ID的处理结果
      * POST /api/applications/batch-approve
      */
     @PostMapping("/batch-approve")
-    public ResponseEntity<ApiResponse<Map<String, Integer>>> batchApproveApplications(
+    public ResponseEntity<ApiResponse<BatchApprovalResult>> batchApproveApplications(
             @RequestBody Map<String, Object> request) {
         try {
             @SuppressWarnings("unchecked")
-            List<Long> ids = (List<Long>) request.get("ids");
+            List<Number> rawIds = (List<Number>) request.get("ids");
+            List<Long> ids = rawIds == null ? null : rawIds.stream().map(Number::longValue)
+                    .collect(Collectors.toList());
             String statusStr = (String) request.get("status");
             String approver = (String) request.get("approver");
             String remark = (String) request.get("remark");
@@ -420,20 +544,62 @@ public class SealApplicationController {
                         .body(ApiResponse.badRequest("无效的审批状态: " + statusStr));
             }
 
-            int successCount = applicationService.batchApproveApplications(ids, status, approver, remark);
-
-            Map<String, Integer> result = Map.of(
-                    "total", ids.size(),
-                    "success", successCount,
-                    "failed", ids.size() - successCount);
-
+            BatchApprovalResult result = applicationService.batchApproveApplications(ids, status, approver, remark);
             return ResponseEntity.ok(ApiResponse.success("批量审批完成", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error(500, "批量审批失败: " + e.getMessage()));
         }
     }
 
+    /**
+     * 导入申请（CSV 文件上传）
+     * POST /api/applications/import，表单字段 file，首行为表头（字段名或中文列名）
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ApplicationImportResult>> importApplications(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "UTF-8") String charset) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest("导入文件不能为空"));
+        }
+        try (InputStream in = file.getInputStream()) {
+            return importCsv(in, charset);
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error(500, "申请导入失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 导入申请（请求体直接为 CSV 内容，边接收边解析，不落盘）
+     * POST /api/applications/import，Content-Type: text/csv
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<ApiResponse<ApplicationImportResult>> importApplicationsFromBody(InputStream body,
+            @RequestParam(defaultValue = "UTF-8") String charset) {
+        return importCsv(body, charset);
+    }
+
+    private ResponseEntity<ApiResponse<ApplicationImportResult>> importCsv(InputStream in, String charset) {
+        try {
+            Reader reader = new InputStreamReader(in, Charset.forName(charset));
+            ApplicationImportResult result = importService.importCsv(reader);
+            return ResponseEntity.ok(ApiResponse.success("申请导入完成", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error(500, "申请导入失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 获取申请统计信息
      * GET /api/applications/statistics
@@ -495,6 +661,34 @@ public class SealApplicationController {
         }
     }
 
+    /**
+     * 按粒度获取申请趋势（日/周/月/季度/年，可按部门、印章、状态过滤）
+     * GET /api/applications/statistics/trend?granularity=WEEK&from=2024-01-01&to=2024-06-30
+     * 未指定开始日期时默认统计最近一年
+     */
+    @GetMapping("/statistics/trend")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getApplicationTrend(
+            @RequestParam(defaultValue = "MONTH") TrendGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Long sealId,
+            @RequestParam(required = false) SealApplication.ApplicationStatus status) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusYears(1);
+            List<Map<String, Object>> trend = applicationService.getApplicationTrend(
+                    granularity, start, end, department, sealId, status);
+            return ResponseEntity.ok(ApiResponse.success("获取申请趋势成功", trend));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error(500, "获取申请趋势失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 获取平均处理时间
      * GET /api/applications/statistics/average-processing-time
@@ -515,10 +709,10 @@ public class SealApplicationController {
      * GET /api/applications/upcoming?hours=24
      */
     @GetMapping("/upcoming")
-    public ResponseEntity<ApiResponse<List<SealApplication>>> getUpcomingApplications(
+    public ResponseEntity<ApiResponse<List<SealApplicationSummary>>> getUpcomingApplications(
             @RequestParam(defaultValue = "24") int hours) {
         try {
-            List<SealApplication> applications = applicationService.getUpcomingApplications(hours);
+            List<SealApplicationSummary> applications = applicationService.getUpcomingApplications(hours);
             return ResponseEntity.ok(ApiResponse.success("获取即将到期申请成功", applications));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -572,13 +766,13 @@ public class SealApplicationController {
      * GET /api/applications/keeper/{keeper}/pending
      */
     @GetMapping("/keeper/{keeper}/pending")
-    public ResponseEntity<ApiResponse<PageResponse<SealApplication>>> getKeeperPendingApplications(
+    public ResponseEntity<ApiResponse<PageResponse<SealApplicationSummary>>> getKeeperPendingApplications(
             @PathVariable String keeper,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            PageResponse<SealApplication> applications = applicationService.getKeeperPendingApplications(keeper, page,
-                    size);
+            PageResponse<SealApplicationSummary> applications = applicationService
+                    .getKeeperPendingApplications(keeper, page, size);
             return ResponseEntity.ok(ApiResponse.success("获取保管人待审批申请成功", applications));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
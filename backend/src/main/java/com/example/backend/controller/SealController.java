@@ -20,22 +20,30 @@ import java.util.Optional;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class SealController {
 
+    /**
+     * 枚举列表固定不变，启动时生成一次
+     */
+    private static final List<Seal.SealType> SEAL_TYPES = List.of(Seal.SealType.values());
+    private static final List<Seal.SealStatus> SEAL_STATUSES = List.of(Seal.SealStatus.values());
+    private static final List<Seal.SealShape> SEAL_SHAPES = List.of(Seal.SealShape.values());
+
     @Autowired
     private SealService sealService;
 
     /**
      * 分页查询印章列表
-     * GET /api/seals?page=1&size=10&keyword=公章&status=ACTIVE
+     * GET /api/seals?page=1&size=10&keyword=公章&status=ACTIVE&withTotal=false
      */
     @GetMapping
     public ResponseEntity<ApiResponse<PageResponse<Seal>>> getSeals(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = false) Seal.SealStatus status) {
+            @RequestParam(required = false) Seal.SealStatus status,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         try {
-            PageResponse<Seal> result = sealService.findSeals(page, size, keyword, status);
+            PageResponse<Seal> result = sealService.findSeals(page, size, keyword, status, withTotal);
             return ResponseEntity.ok(ApiResponse.success("获取成功", result));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -235,8 +243,8 @@ public class SealController {
      * GET /api/seals/types
      */
     @GetMapping("/types")
-    public ResponseEntity<ApiResponse<Seal.SealType[]>> getSealTypes() {
-        return ResponseEntity.ok(ApiResponse.success("获取成功", Seal.SealType.values()));
+    public ResponseEntity<ApiResponse<List<Seal.SealType>>> getSealTypes() {
+        return ResponseEntity.ok(ApiResponse.success("获取成功", SEAL_TYPES));
     }
 
     /**
@@ -244,8 +252,8 @@ public class SealController {
      * GET /api/seals/statuses
      */
     @GetMapping("/statuses")
-    public ResponseEntity<ApiResponse<Seal.SealStatus[]>> getSealStatuses() {
-        return ResponseEntity.ok(ApiResponse.success("获取成功", Seal.SealStatus.values()));
+    public ResponseEntity<ApiResponse<List<Seal.SealStatus>>> getSealStatuses() {
+        return ResponseEntity.ok(ApiResponse.success("获取成功", SEAL_STATUSES));
     }
 
     /**
@@ -253,7 +261,7 @@ public class SealController {
      * GET /api/seals/shapes
      */
     @GetMapping("/shapes")
-    public ResponseEntity<ApiResponse<Seal.SealShape[]>> getSealShapes() {
-        return ResponseEntity.ok(ApiResponse.success("获取成功", Seal.SealShape.values()));
+    public ResponseEntity<ApiResponse<List<Seal.SealShape>>> getSealShapes() {
+        return ResponseEntity.ok(ApiResponse.success("获取成功", SEAL_SHAPES));
     }
 }
\ No newline at end of file
@@ -2,9 +2,12 @@ package com.example.backend.controller;
 
 import com.example.backend.common.ApiResponse;
 import com.example.backend.common.PageResponse;
+import com.example.backend.common.ResourceNotFoundException;
+import com.example.backend.dto.SealCreateApplicationSummary;
 import com.example.backend.entity.SealCreateApplication;
 import com.example.backend.service.SealCreateApplicationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -159,7 +162,7 @@ public class SealCreateApplicationController {
      * GET /api/seal-create-applications?page=0&size=10&sort=applyTime,desc
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<SealCreateApplication>>> getApplications(
+    public ResponseEntity<ApiResponse<PageResponse<SealCreateApplicationSummary>>> getApplications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "applyTime") String sortBy,
@@ -174,7 +177,7 @@ public class SealCreateApplicationController {
             Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
             Pageable pageable = PageRequest.of(page, size, sort);
 
-            PageResponse<SealCreateApplication> applications;
+            PageResponse<SealCreateApplicationSummary> applications;
             if (keyword != null || status != null || applicant != null ||
                     department != null || startTime != null || endTime != null) {
                 applications = applicationService.searchApplications(
@@ -195,15 +198,15 @@ public class SealCreateApplicationController {
      * GET /api/seal-create-applications/my/{applicant}
      */
     @GetMapping("/my/{applicant}")
-    public ResponseEntity<ApiResponse<PageResponse<SealCreateApplication>>> getMyApplications(
+    public ResponseEntity<ApiResponse<PageResponse<SealCreateApplicationSummary>>> getMyApplications(
             @PathVariable String applicant,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
             Pageable pageable = PageRequest.of(page, size,
                     Sort.by(Sort.Direction.DESC, "applyTime"));
-            PageResponse<SealCreateApplication> applications = applicationService.getMyApplications(applicant,
-                    pageable);
+            PageResponse<SealCreateApplicationSummary> applications = applicationService
+                    .getMyApplications(applicant, pageable);
             return ResponseEntity.ok(ApiResponse.success("获取我的印章申请成功", applications));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -216,13 +219,14 @@ public class SealCreateApplicationController {
      * GET /api/seal-create-applications/pending
      */
     @GetMapping("/pending")
-    public ResponseEntity<ApiResponse<PageResponse<SealCreateApplication>>> getPendingApplications(
+    public ResponseEntity<ApiResponse<PageResponse<SealCreateApplicationSummary>>> getPendingApplications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
             Pageable pageable = PageRequest.of(page, size,
                     Sort.by(Sort.Direction.ASC, "applyTime"));
-            PageResponse<SealCreateApplication> applications = applicationService.getPendingApplications(pageable);
+            PageResponse<SealCreateApplicationSummary> applications = applicationService
+                    .getPendingApplications(pageable);
             return ResponseEntity.ok(ApiResponse.success("获取待审批印章申请成功", applications));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -238,14 +242,11 @@ public class SealCreateApplicationController {
     public ResponseEntity<ApiResponse<SealCreateApplication>> approveApplication(@PathVariable Long id,
             @RequestBody Map<String, Object> request) {
         try {
-            if (!applicationService.getApplicationById(id).isPresent()) {
-                return ResponseEntity.notFound()
-                        .build();
-            }
-
             String statusStr = (String) request.get("status");
             String approver = (String) request.get("approver");
             String remark = (String) request.get("remark");
+            // 可选：页面加载时的版本号，期间申请被修改则返回 409
+            Long version = request.get("version") instanceof Number number ? number.longValue() : null;
 
             if (statusStr == null || statusStr.trim().isEmpty()) {
                 return ResponseEntity.badRequest()
@@ -266,8 +267,14 @@ public class SealCreateApplicationController {
             }
 
             SealCreateApplication updatedApplication = applicationService.approveApplication(id, status, approver,
-                    remark);
+                    remark, version);
             return ResponseEntity.ok(ApiResponse.success("印章申请审批成功", updatedApplication));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409)
+                    .body(ApiResponse.error(409, e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.badRequest(e.getMessage()));
@@ -285,11 +292,6 @@ public class SealCreateApplicationController {
     public ResponseEntity<ApiResponse<Void>> withdrawApplication(@PathVariable Long id,
             @RequestBody Map<String, String> request) {
         try {
-            if (!applicationService.getApplicationById(id).isPresent()) {
-                return ResponseEntity.notFound()
-                        .build();
-            }
-
             String applicant = request.get("applicant");
             if (applicant == null || applicant.trim().isEmpty()) {
                 return ResponseEntity.badRequest()
@@ -303,6 +305,9 @@ public class SealCreateApplicationController {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.badRequest("印章申请撤回失败"));
             }
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.notFound(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.badRequest(e.getMessage()));
@@ -0,0 +1,38 @@
+package com.example.backend.controller;
+
+import com.example.backend.common.ApiResponse;
+import com.example.backend.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 统计控制器
+ * 提供跨模块的汇总统计接口
+ */
+@RestController
+@RequestMapping("/api/statistics")
+@CrossOrigin(origins = "*")
+public class StatisticsController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * 获取统计页全部数据（申请、部门、印章使用、月度趋势、审批时长、印章、用户统计并行查询，一次返回）
+     * GET /api/statistics/dashboard?months=6
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDashboard(
+            @RequestParam(defaultValue = "6") int months) {
+        try {
+            Map<String, Object> dashboard = dashboardService.getDashboard(months);
+            return ResponseEntity.ok(ApiResponse.success("获取统计数据成功", dashboard));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error(500, "获取统计数据失败: " + e.getMessage()));
+        }
+    }
+}
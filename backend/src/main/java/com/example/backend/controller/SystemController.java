@@ -1,10 +1,17 @@
 package com.example.backend.controller;
 
 import com.example.backend.common.ApiResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -15,6 +22,9 @@ import java.util.Map;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class SystemController {
 
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
      * 系统健康检查
      * GET /api/system/health
@@ -43,4 +53,34 @@ public class SystemController {
 
         return ResponseEntity.ok(ApiResponse.success("获取成功", systemInfo));
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取缓存命中统计
+     * GET /api/system/caches
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCacheStatistics() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            CacheStats stats = nativeCache.stats();
+
+            Map<String, Object> cacheInfo = new HashMap<>();
+            cacheInfo.put("size", nativeCache.estimatedSize());
+            cacheInfo.put("hitCount", stats.hitCount());
+            cacheInfo.put("missCount", stats.missCount());
+            cacheInfo.put("hitRate", stats.hitRate());
+            cacheInfo.put("evictionCount", stats.evictionCount());
+            caches.put(name, cacheInfo);
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("获取成功", caches));
+    }
+}
@@ -106,7 +106,7 @@ public class UserController {
 
     /**
      * 分页获取用户列表
-     * GET /api/users?page=0&size=10&sort=createTime,desc
+     * GET /api/users?page=0&size=10&sort=createTime,desc&withTotal=false
      */
     @GetMapping
     public ApiResponse<PageResponse<User>> getUsers(
@@ -116,16 +116,17 @@ public class UserController {
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) User.UserStatus status,
-            @RequestParam(required = false) User.UserRole role) {
+            @RequestParam(required = false) User.UserRole role,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         try {
             Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
             Pageable pageable = PageRequest.of(page, size, sort);
 
             PageResponse<User> users;
             if (keyword != null || status != null || role != null) {
-                users = userService.searchUsers(keyword, status, role, pageable);
+                users = userService.searchUsers(keyword, status, role, pageable, withTotal);
             } else {
-                users = userService.getUsers(pageable);
+                users = userService.getUsers(pageable, withTotal);
             }
 
             return ApiResponse.success("获取用户列表成功", users);
@@ -0,0 +1,22 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * 申请导入结果
+ * 汇总处理行数和成功/失败数量，失败行按文件行号给出原因（最多保留配置的条数）
+ */
+public record ApplicationImportResult(
+        int total,
+        int success,
+        int failed,
+        List<RowError> errors,
+        boolean errorsTruncated,
+        List<String> ignoredColumns) {
+
+    /**
+     * 失败行：行号从 1 开始（含表头行），与表格软件中看到的行号一致
+     */
+    public record RowError(int line, String message) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * 批量审批结果
+ * 汇总成功/失败数量，并按请求顺序给出每个申请ID的处理结果
+ */
+public record BatchApprovalResult(
+        int total,
+        int success,
+        int failed,
+        List<Item> results) {
+
+    /**
+     * 单个申请的处理结果
+     */
+    public enum Outcome {
+        SUCCESS("审批成功"),
+        NOT_FOUND("申请不存在"),
+        NOT_PENDING("申请已处理，无法重复审批");
+
+        private final String description;
+
+        Outcome(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    public record Item(Long id, Outcome outcome, String message) {
+
+        public static Item of(Long id, Outcome outcome) {
+            return new Item(id, outcome, outcome.getDescription());
+        }
+    }
+
+    public static BatchApprovalResult of(List<Item> results) {
+        int success = (int) results.stream().filter(item -> item.outcome() == Outcome.SUCCESS).count();
+        return new BatchApprovalResult(results.size(), success, results.size() - success, results);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * 分块上传状态
+ * 客户端断线重连后据此只补传缺少的分块
+ */
+public record ChunkedUploadStatus(
+        String uploadId,
+        String filename,
+        String type,
+        long size,
+        int chunkSize,
+        int chunkCount,
+        List<Integer> receivedChunks) {
+}
@@ -0,0 +1,40 @@
+package com.example.backend.dto;
+
+import com.example.backend.entity.Seal;
+import com.example.backend.entity.SealApplication;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用印申请列表项
+ * 只包含列表展示用到的字段，用印目的仅截取前 {@link #PURPOSE_PREVIEW_LENGTH} 个字符，
+ * 审批意见、文件清单等大字段需通过 GET /api/applications/{id} 获取完整申请；
+ * version 用于审批、完成时的版本校验
+ */
+public record SealApplicationSummary(
+        Long id,
+        String applicationNo,
+        String sealName,
+        Long sealId,
+        Seal.SealType sealType,
+        Seal.SealShape sealShape,
+        String applicant,
+        String department,
+        String fileName,
+        String addressee,
+        Integer copies,
+        String purposePreview,
+        String attachmentUrl,
+        String attachmentName,
+        LocalDateTime expectedTime,
+        SealApplication.ApplicationStatus status,
+        String approver,
+        LocalDateTime approveTime,
+        LocalDateTime applyTime,
+        Long version) {
+
+    /**
+     * 列表中用印目的的截取长度
+     */
+    public static final int PURPOSE_PREVIEW_LENGTH = 50;
+}
@@ -0,0 +1,29 @@
+package com.example.backend.dto;
+
+import com.example.backend.entity.Seal;
+import com.example.backend.entity.SealCreateApplication;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刻章申请列表项
+ * 只包含列表展示用到的字段，印章描述、审批意见需通过 GET /api/seal-create-applications/{id} 获取；
+ * version 用于审批时的版本校验
+ */
+public record SealCreateApplicationSummary(
+        Long id,
+        String applicationNo,
+        String sealName,
+        Seal.SealType sealType,
+        Seal.SealShape sealShape,
+        String ownerDepartment,
+        String keeperDepartment,
+        String keeper,
+        String applicant,
+        String applicantDepartment,
+        SealCreateApplication.ApplicationStatus status,
+        String approver,
+        LocalDateTime approveTime,
+        LocalDateTime applyTime,
+        Long version) {
+}
@@ -0,0 +1,100 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * 用印申请日汇总
+ * 按申请日期 × 部门 × 印章 × 状态记录申请数量，由 {@link ApplicationStatDelta} 定期合并而来
+ */
+@Entity
+@Table(name = "application_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_application_daily_stats_key",
+                columnNames = { "stat_date", "department", "seal_id", "status" })
+})
+public class ApplicationDailyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false, length = 100)
+    private String department;
+
+    /**
+     * 关联的印章ID，0 表示未关联印章
+     */
+    @Column(name = "seal_id", nullable = false)
+    private Long sealId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SealApplication.ApplicationStatus status;
+
+    @Column(name = "application_count", nullable = false)
+    private Long applicationCount;
+
+    public ApplicationDailyStat() {
+    }
+
+    public ApplicationDailyStat(LocalDate statDate, String department, Long sealId,
+            SealApplication.ApplicationStatus status, Long applicationCount) {
+        this.statDate = statDate;
+        this.department = department;
+        this.sealId = sealId;
+        this.status = status;
+        this.applicationCount = applicationCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public Long getSealId() {
+        return sealId;
+    }
+
+    public void setSealId(Long sealId) {
+        this.sealId = sealId;
+    }
+
+    public SealApplication.ApplicationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SealApplication.ApplicationStatus status) {
+        this.status = status;
+    }
+
+    public Long getApplicationCount() {
+        return applicationCount;
+    }
+
+    public void setApplicationCount(Long applicationCount) {
+        this.applicationCount = applicationCount;
+    }
+}
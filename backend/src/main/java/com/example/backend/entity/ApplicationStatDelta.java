@@ -0,0 +1,118 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 用印申请统计增量
+ * 申请每次变更时在同一事务内追加（只插入不更新，避免热点行竞争），
+ * 由后台任务定期合并到 {@link ApplicationDailyStat} 后删除
+ */
+@Entity
+@Table(name = "application_stat_deltas")
+public class ApplicationStatDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false, length = 100)
+    private String department;
+
+    /**
+     * 关联的印章ID，0 表示未关联印章
+     */
+    @Column(name = "seal_id", nullable = false)
+    private Long sealId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SealApplication.ApplicationStatus status;
+
+    /**
+     * 数量变化：+1 或 -1
+     */
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+
+    public ApplicationStatDelta() {
+    }
+
+    public ApplicationStatDelta(LocalDate statDate, String department, Long sealId,
+            SealApplication.ApplicationStatus status, Integer delta) {
+        this.statDate = statDate;
+        this.department = department;
+        this.sealId = sealId;
+        this.status = status;
+        this.delta = delta;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createTime = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public Long getSealId() {
+        return sealId;
+    }
+
+    public void setSealId(Long sealId) {
+        this.sealId = sealId;
+    }
+
+    public SealApplication.ApplicationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SealApplication.ApplicationStatus status) {
+        this.status = status;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 上传记录
+ * 每次上传一条，记录返回给客户端的访问地址与文件内容（{@link StoredFile}）的对应关系；
+ * 申请、印章只以 URL 引用上传的文件，不再被引用的记录由后台清理任务删除并释放文件内容
+ */
+@Entity
+@Table(name = "attachments", indexes = {
+        @Index(name = "idx_attachments_url", columnList = "url"),
+        @Index(name = "idx_attachments_hash", columnList = "hash")
+})
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 访问地址：/api/files/download/{sha256}.{扩展名}
+     */
+    @Column(nullable = false, length = 255)
+    private String url;
+
+    /**
+     * 文件内容的 SHA-256
+     */
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Column(name = "original_name", nullable = false, length = 255)
+    private String originalName;
+
+    /**
+     * 上传时指定的文件分类，如 attachment
+     */
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+
+    public Attachment() {
+    }
+
+    public Attachment(String originalName, String category, String contentType) {
+        this.originalName = originalName;
+        this.category = category;
+        this.contentType = contentType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getOriginalName() {
+        return originalName;
+    }
+
+    public void setOriginalName(String originalName) {
+        this.originalName = originalName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 编号序列
+ * 每个序列一行，记录下一个可分配的序号；各实例按块预留序号（一次更新预留一段），块内编号在内存中分配
+ * （读写由 {@link com.example.backend.common.ApplicationNumberGenerator} 经专用连接池直接执行 SQL，不经过 JPA）
+ */
+@Entity
+@Table(name = "number_sequences")
+public class NumberSequence {
+
+    /**
+     * 序列名称：编号前缀 + 日期，如 YY20250101
+     */
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    public NumberSequence() {
+    }
+
+    public NumberSequence(String name, Long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
@@ -10,7 +10,11 @@ import java.time.LocalDateTime;
  * 印章实体类
  */
 @Entity
-@Table(name = "seals")
+@Table(name = "seals", indexes = {
+        @Index(name = "idx_seals_keeper", columnList = "keeper"),
+        @Index(name = "idx_seals_name", columnList = "name"),
+        @Index(name = "idx_seals_image_url", columnList = "image_url")
+})
 public class Seal {
 
     @Id
@@ -8,19 +8,31 @@ import java.time.LocalDateTime;
  * 用于管理用印申请的详细信息
  */
 @Entity
-@Table(name = "seal_applications")
+@Table(name = "seal_applications", indexes = {
+        @Index(name = "idx_seal_applications_seal_status", columnList = "seal_id, status"),
+        @Index(name = "idx_seal_applications_attachment_url", columnList = "attachment_url")
+})
 public class SealApplication {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * 申请编号，创建时由 {@link com.example.backend.common.ApplicationNumberGenerator} 分配
+     */
     @Column(unique = true, nullable = false, length = 50)
     private String applicationNo;
 
     @Column(nullable = false, length = 100)
     private String sealName;
 
+    /**
+     * 关联印章ID，提交申请时按印章名称解析；历史数据启动时按名称回填
+     */
+    @Column(name = "seal_id")
+    private Long sealId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private Seal.SealType sealType;
@@ -81,6 +93,13 @@ public class SealApplication {
 
     private LocalDateTime updateTime;
 
+    /**
+     * 乐观锁版本号，每次修改加 1；状态流转按版本号条件更新
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * 申请状态枚举
      */
@@ -105,10 +124,6 @@ public class SealApplication {
     protected void onCreate() {
         applyTime = LocalDateTime.now();
         updateTime = LocalDateTime.now();
-        // 自动生成申请编号
-        if (applicationNo == null || applicationNo.isEmpty()) {
-            applicationNo = generateApplicationNo();
-        }
     }
 
     @PreUpdate
@@ -116,18 +131,6 @@ public class SealApplication {
         updateTime = LocalDateTime.now();
     }
 
-    /**
-     * 生成申请编号
-     * 格式：YY + 年月日 + 4位序号
-     */
-    private String generateApplicationNo() {
-        java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd");
-        String dateStr = LocalDateTime.now().format(formatter);
-        // 简单的序号生成，实际项目中可能需要更复杂的逻辑
-        int sequence = (int) (Math.random() * 9999) + 1;
-        return "YY" + dateStr + String.format("%04d", sequence);
-    }
-
     // 无参构造函数
     public SealApplication() {
     }
@@ -177,6 +180,14 @@ public class SealApplication {
         this.sealName = sealName;
     }
 
+    public Long getSealId() {
+        return sealId;
+    }
+
+    public void setSealId(Long sealId) {
+        this.sealId = sealId;
+    }
+
     public Seal.SealType getSealType() {
         return sealType;
     }
@@ -336,4 +347,12 @@ public class SealApplication {
     public void setUpdateTime(LocalDateTime updateTime) {
         this.updateTime = updateTime;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
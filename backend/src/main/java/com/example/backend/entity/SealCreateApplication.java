@@ -15,6 +15,9 @@ public class SealCreateApplication {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * 申请编号，创建时由 {@link com.example.backend.common.ApplicationNumberGenerator} 分配
+     */
     @Column(unique = true, nullable = false, length = 50)
     private String applicationNo;
 
@@ -64,6 +67,13 @@ public class SealCreateApplication {
 
     private LocalDateTime updateTime;
 
+    /**
+     * 乐观锁版本号，每次修改加 1；状态流转按版本号条件更新
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * 申请状态枚举
      */
@@ -87,9 +97,6 @@ public class SealCreateApplication {
     protected void onCreate() {
         applyTime = LocalDateTime.now();
         updateTime = LocalDateTime.now();
-        if (applicationNo == null) {
-            applicationNo = generateApplicationNo();
-        }
     }
 
     @PreUpdate
@@ -97,13 +104,6 @@ public class SealCreateApplication {
         updateTime = LocalDateTime.now();
     }
 
-    /**
-     * 生成申请编号
-     */
-    private String generateApplicationNo() {
-        return "SC" + System.currentTimeMillis() % 1000000;
-    }
-
     // 无参构造函数
     public SealCreateApplication() {
     }
@@ -260,4 +260,12 @@ public class SealCreateApplication {
     public void setUpdateTime(LocalDateTime updateTime) {
         this.updateTime = updateTime;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 存储文件
+ * 内容寻址存储中的一份文件内容，以 SHA-256 为主键；相同内容的多次上传共用一个文件，由引用计数记录上传次数
+ */
+@Entity
+@Table(name = "stored_files")
+public class StoredFile {
+
+    /**
+     * 文件内容的 SHA-256（64 位小写十六进制）
+     */
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+
+    public StoredFile() {
+    }
+
+    public StoredFile(String hash, Long size, Integer refCount) {
+        this.hash = hash;
+        this.size = size;
+        this.refCount = refCount;
+        this.createTime = LocalDateTime.now();
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+}
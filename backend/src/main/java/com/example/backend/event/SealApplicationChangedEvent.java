@@ -0,0 +1,24 @@
+package com.example.backend.event;
+
+/**
+ * 用印申请变更事件
+ * 新建时 before 为空，删除/撤回时 after 为空
+ */
+public class SealApplicationChangedEvent {
+
+    private final SealApplicationSnapshot before;
+    private final SealApplicationSnapshot after;
+
+    public SealApplicationChangedEvent(SealApplicationSnapshot before, SealApplicationSnapshot after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public SealApplicationSnapshot getBefore() {
+        return before;
+    }
+
+    public SealApplicationSnapshot getAfter() {
+        return after;
+    }
+}
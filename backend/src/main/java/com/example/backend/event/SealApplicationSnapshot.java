@@ -0,0 +1,136 @@
+package com.example.backend.event;
+
+import com.example.backend.entity.SealApplication;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用印申请快照
+ * 记录变更前后的申请字段，供事务提交后的索引、统计等内存结构使用
+ */
+public class SealApplicationSnapshot {
+
+    private final Long id;
+    private final String applicationNo;
+    private final String sealName;
+    private final Long sealId;
+    private final String applicant;
+    private final String department;
+    private final String purpose;
+    private final SealApplication.ApplicationStatus status;
+    private final LocalDateTime applyTime;
+    private final LocalDateTime approveTime;
+
+    private SealApplicationSnapshot(SealApplication application) {
+        this.id = application.getId();
+        this.applicationNo = application.getApplicationNo();
+        this.sealName = application.getSealName();
+        this.sealId = application.getSealId();
+        this.applicant = application.getApplicant();
+        this.department = application.getDepartment();
+        this.purpose = application.getPurpose();
+        this.status = application.getStatus();
+        this.applyTime = application.getApplyTime();
+        this.approveTime = application.getApproveTime();
+    }
+
+    private SealApplicationSnapshot(Long id, String applicationNo, String sealName, Long sealId, String applicant,
+            String department, SealApplication.ApplicationStatus status, LocalDateTime applyTime,
+            LocalDateTime approveTime) {
+        this.id = id;
+        this.applicationNo = applicationNo;
+        this.sealName = sealName;
+        this.sealId = sealId;
+        this.applicant = applicant;
+        this.department = department;
+        this.purpose = null;
+        this.status = status;
+        this.applyTime = applyTime;
+        this.approveTime = approveTime;
+    }
+
+    private SealApplicationSnapshot(SealApplicationSnapshot source, Long sealId,
+            SealApplication.ApplicationStatus status, LocalDateTime approveTime) {
+        this.id = source.id;
+        this.applicationNo = source.applicationNo;
+        this.sealName = source.sealName;
+        this.sealId = sealId;
+        this.applicant = source.applicant;
+        this.department = source.department;
+        this.purpose = source.purpose;
+        this.status = status;
+        this.applyTime = source.applyTime;
+        this.approveTime = approveTime;
+    }
+
+    public static SealApplicationSnapshot of(SealApplication application) {
+        return application == null ? null : new SealApplicationSnapshot(application);
+    }
+
+    /**
+     * 由 {@code findStatesForUpdate} 查询的一行构造快照（不含事由）
+     * 事由为 TEXT 列，批量读取时不加载；仅用于不修改事由的状态流转，变更前后的快照同样不含事由，
+     * 关键词索引按前后快照对称地移除、加入，事由对应的索引项保持不变
+     *
+     * @param row [申请ID, 申请编号, 印章名称, 印章ID, 申请人, 部门, 状态, 申请时间, 审批时间]
+     */
+    public static SealApplicationSnapshot ofState(Object[] row) {
+        return new SealApplicationSnapshot((Long) row[0], (String) row[1], (String) row[2], (Long) row[3],
+                (String) row[4], (String) row[5], (SealApplication.ApplicationStatus) row[6],
+                (LocalDateTime) row[7], (LocalDateTime) row[8]);
+    }
+
+    /**
+     * 替换状态和审批时间后的快照（条件更新不经过实体时，用于推算变更前后的快照）
+     */
+    public SealApplicationSnapshot withStatus(SealApplication.ApplicationStatus status, LocalDateTime approveTime) {
+        return new SealApplicationSnapshot(this, sealId, status, approveTime);
+    }
+
+    /**
+     * 替换关联印章后的快照（关联、解除关联印章的批量更新用）
+     */
+    public SealApplicationSnapshot withSealId(Long sealId) {
+        return new SealApplicationSnapshot(this, sealId, status, approveTime);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getApplicationNo() {
+        return applicationNo;
+    }
+
+    public String getSealName() {
+        return sealName;
+    }
+
+    public Long getSealId() {
+        return sealId;
+    }
+
+    public String getApplicant() {
+        return applicant;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public SealApplication.ApplicationStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getApplyTime() {
+        return applyTime;
+    }
+
+    public LocalDateTime getApproveTime() {
+        return approveTime;
+    }
+}
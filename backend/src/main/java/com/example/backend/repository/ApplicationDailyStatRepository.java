@@ -0,0 +1,40 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ApplicationDailyStat;
+import com.example.backend.entity.SealApplication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 用印申请日汇总数据访问层接口
+ */
+@Repository
+public interface ApplicationDailyStatRepository extends JpaRepository<ApplicationDailyStat, Long> {
+
+        /**
+         * 按汇总维度查找
+         */
+        Optional<ApplicationDailyStat> findByStatDateAndDepartmentAndSealIdAndStatus(LocalDate statDate,
+                        String department, Long sealId, SealApplication.ApplicationStatus status);
+
+        /**
+         * 按日期汇总申请数量，条件为 null 时不过滤
+         * 
+         * @return [statDate, count] 列表
+         */
+        @Query("SELECT s.statDate, SUM(s.applicationCount) FROM ApplicationDailyStat s " +
+                        "WHERE s.statDate BETWEEN :from AND :to " +
+                        "AND (:department IS NULL OR s.department = :department) " +
+                        "AND (:sealId IS NULL OR s.sealId = :sealId) " +
+                        "AND (:status IS NULL OR s.status = :status) " +
+                        "GROUP BY s.statDate")
+        List<Object[]> sumByDate(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                        @Param("department") String department, @Param("sealId") Long sealId,
+                        @Param("status") SealApplication.ApplicationStatus status);
+}
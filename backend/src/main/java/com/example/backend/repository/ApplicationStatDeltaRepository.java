@@ -0,0 +1,42 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ApplicationStatDelta;
+import com.example.backend.entity.SealApplication;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 用印申请统计增量数据访问层接口
+ */
+@Repository
+public interface ApplicationStatDeltaRepository extends JpaRepository<ApplicationStatDelta, Long> {
+
+        /**
+         * 按写入顺序读取并锁定一批待合并的增量（多实例同时合并时互斥）
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        List<ApplicationStatDelta> findAllByOrderByIdAsc(Pageable pageable);
+
+        /**
+         * 按日期汇总尚未合并的增量，条件为 null 时不过滤
+         * 
+         * @return [statDate, delta] 列表
+         */
+        @Query("SELECT d.statDate, SUM(d.delta) FROM ApplicationStatDelta d " +
+                        "WHERE d.statDate BETWEEN :from AND :to " +
+                        "AND (:department IS NULL OR d.department = :department) " +
+                        "AND (:sealId IS NULL OR d.sealId = :sealId) " +
+                        "AND (:status IS NULL OR d.status = :status) " +
+                        "GROUP BY d.statDate")
+        List<Object[]> sumByDate(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                        @Param("department") String department, @Param("sealId") Long sealId,
+                        @Param("status") SealApplication.ApplicationStatus status);
+}
@@ -0,0 +1,31 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.Attachment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 上传记录数据访问层接口
+ */
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Long>, AttachmentRepositoryCustom {
+
+        /**
+         * 按ID顺序读取一批在指定时间之前上传的记录（清理任务按ID分批遍历）
+         */
+        @Query("SELECT a FROM Attachment a WHERE a.id > :afterId AND a.createTime < :before ORDER BY a.id")
+        List<Attachment> findBatchCreatedBefore(@Param("afterId") Long afterId,
+                        @Param("before") LocalDateTime before, Pageable pageable);
+
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("DELETE FROM Attachment a WHERE a.id IN :ids")
+        int deleteByIds(@Param("ids") Collection<Long> ids);
+}
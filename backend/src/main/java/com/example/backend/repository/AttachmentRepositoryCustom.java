@@ -0,0 +1,19 @@
+package com.example.backend.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 上传文件引用查询
+ * 申请、印章只以 URL 字符串引用上传的文件，清理任务据此判断上传记录是否仍被使用
+ */
+public interface AttachmentRepositoryCustom {
+
+    /**
+     * 查询仍被引用的 URL：申请附件地址、印章图片地址等于该 URL，或申请的文件说明中包含该 URL
+     *
+     * @param urls 待检查的 URL
+     * @return 其中仍被引用的 URL
+     */
+    Set<String> findReferencedUrls(Collection<String> urls);
+}
@@ -0,0 +1,62 @@
+package com.example.backend.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 上传文件引用查询实现
+ * 附件地址、印章图片地址按索引批量查询；文件说明是自由文本，只能模糊匹配，一批 URL 合并为一条语句，每批只扫描一次
+ */
+class AttachmentRepositoryCustomImpl implements AttachmentRepositoryCustom {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    AttachmentRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<String> findReferencedUrls(Collection<String> urls) {
+        Set<String> referenced = new HashSet<>();
+        if (urls.isEmpty()) {
+            return referenced;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("urls", urls);
+        referenced.addAll(jdbcTemplate.queryForList(
+                "SELECT DISTINCT attachment_url FROM seal_applications WHERE attachment_url IN (:urls)",
+                params, String.class));
+        referenced.addAll(jdbcTemplate.queryForList(
+                "SELECT DISTINCT image_url FROM seals WHERE image_url IN (:urls)", params, String.class));
+
+        List<String> remaining = new ArrayList<>();
+        for (String url : urls) {
+            if (!referenced.contains(url)) {
+                remaining.add(url);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return referenced;
+        }
+        StringBuilder sql = new StringBuilder("SELECT documents FROM seal_applications WHERE ");
+        MapSqlParameterSource likeParams = new MapSqlParameterSource();
+        for (int i = 0; i < remaining.size(); i++) {
+            sql.append(i == 0 ? "" : " OR ").append("documents LIKE :p").append(i);
+            likeParams.addValue("p" + i, "%" + remaining.get(i) + "%");
+        }
+        jdbcTemplate.query(sql.toString(), likeParams, rs -> {
+            String documents = rs.getString(1);
+            for (String url : remaining) {
+                if (documents.contains(url)) {
+                    referenced.add(url);
+                }
+            }
+        });
+        return referenced;
+    }
+}
@@ -1,23 +1,30 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.SealApplication;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * 用印申请数据访问接口
  * 提供用印申请管理相关的数据库操作方法
+ * 复合条件查询见 {@link com.example.backend.repository.specification.SealApplicationSpecifications}
  */
 @Repository
-public interface SealApplicationRepository extends JpaRepository<SealApplication, Long> {
+public interface SealApplicationRepository extends JpaRepository<SealApplication, Long>,
+                JpaSpecificationExecutor<SealApplication>, SealApplicationRepositoryCustom {
 
         /**
          * 根据申请编号查找申请
@@ -83,6 +90,25 @@ public interface SealApplicationRepository extends JpaRepository<SealApplication
                         "OR sa.purpose LIKE %:keyword% OR sa.applicant LIKE %:keyword%")
         Page<SealApplication> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+        /**
+         * 按主键顺序分批读取关键字索引需要的字段
+         * 
+         * @param afterId  上一批最后一条记录的ID
+         * @param pageable 仅用于限制返回条数
+         * @return [id, applicationNo, purpose, applicant] 列表
+         */
+        @Query("SELECT sa.id, sa.applicationNo, sa.purpose, sa.applicant FROM SealApplication sa " +
+                        "WHERE sa.id > :afterId ORDER BY sa.id ASC")
+        List<Object[]> findKeywordDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+        /**
+         * 查询所有不同的申请人（用于拼音索引）
+         * 
+         * @return 申请人列表
+         */
+        @Query("SELECT DISTINCT sa.applicant FROM SealApplication sa")
+        List<String> findDistinctApplicants();
+
         /**
          * 根据时间范围查找申请
          * 
@@ -96,34 +122,6 @@ public interface SealApplicationRepository extends JpaRepository<SealApplication
                         @Param("endTime") LocalDateTime endTime,
                         Pageable pageable);
 
-        /**
-         * 复合条件查询申请
-         * 
-         * @param keyword    搜索关键字
-         * @param status     申请状态
-         * @param applicant  申请人
-         * @param department 部门
-         * @param startTime  开始时间
-         * @param endTime    结束时间
-         * @param pageable   分页参数
-         * @return 申请分页列表
-         */
-        @Query("SELECT sa FROM SealApplication sa WHERE " +
-                        "(:keyword IS NULL OR sa.applicationNo LIKE %:keyword% OR sa.purpose LIKE %:keyword% OR sa.applicant LIKE %:keyword%) "
-                        +
-                        "AND (:status IS NULL OR sa.status = :status) " +
-                        "AND (:applicant IS NULL OR sa.applicant = :applicant) " +
-                        "AND (:department IS NULL OR sa.department = :department) " +
-                        "AND (:startTime IS NULL OR sa.applyTime >= :startTime) " +
-                        "AND (:endTime IS NULL OR sa.applyTime <= :endTime)")
-        Page<SealApplication> findByConditions(@Param("keyword") String keyword,
-                        @Param("status") SealApplication.ApplicationStatus status,
-                        @Param("applicant") String applicant,
-                        @Param("department") String department,
-                        @Param("startTime") LocalDateTime startTime,
-                        @Param("endTime") LocalDateTime endTime,
-                        Pageable pageable);
-
         /**
          * 统计申请数量按状态
          * 
@@ -141,25 +139,168 @@ public interface SealApplicationRepository extends JpaRepository<SealApplication
         List<Object[]> countByDepartment();
 
         /**
-         * 统计申请数量按印章
+         * 统计申请数量按印章ID
          * 
-         * @return 印章统计列表
+         * @return [印章ID, 申请中记录的印章名称, 申请数] 列表
          */
-        @Query("SELECT sa.sealName, COUNT(sa) FROM SealApplication sa GROUP BY sa.sealName")
-        List<Object[]> countBySealName();
+        @Query("SELECT sa.sealId, MAX(sa.sealName), COUNT(sa) FROM SealApplication sa " +
+                        "WHERE sa.sealId IS NOT NULL GROUP BY sa.sealId")
+        List<Object[]> countBySealId();
 
         /**
-         * 统计月度申请趋势
+         * 统计未关联到印章的申请数量（按印章名称）
          * 
-         * @param months 月份数
-         * @return 月度统计列表
+         * @return [印章名称, 申请数] 列表
          */
-        @Query("SELECT FUNCTION('DATE_FORMAT', sa.applyTime, '%Y-%m'), COUNT(sa) " +
-                        "FROM SealApplication sa " +
-                        "WHERE sa.applyTime >= :months " +
-                        "GROUP BY FUNCTION('DATE_FORMAT', sa.applyTime, '%Y-%m') " +
-                        "ORDER BY FUNCTION('DATE_FORMAT', sa.applyTime, '%Y-%m')")
-        List<Object[]> getMonthlyTrend(@Param("months") LocalDateTime months);
+        @Query("SELECT sa.sealName, COUNT(sa) FROM SealApplication sa WHERE sa.sealId IS NULL GROUP BY sa.sealName")
+        List<Object[]> countUnlinkedBySealName();
+
+        /**
+         * 查询申请的计数分组字段（计数对账时修正对账期间变更的申请）
+         *
+         * @return [申请ID, 状态, 部门, 印章ID, 印章名称] 列表
+         */
+        @Query("SELECT sa.id, sa.status, sa.department, sa.sealId, sa.sealName FROM SealApplication sa " +
+                        "WHERE sa.id IN :ids")
+        List<Object[]> findCounterStates(@Param("ids") Collection<Long> ids);
+
+        /**
+         * 查询有尚未关联印章的申请、且已存在同名印章的印章名称（启动时回填关联用，同名印章取ID最小的一个）
+         * 
+         * @return [印章名称, 印章ID] 列表
+         */
+        @Query("SELECT s.name, MIN(s.id) FROM Seal s WHERE EXISTS " +
+                        "(SELECT sa.id FROM SealApplication sa WHERE sa.sealId IS NULL AND sa.sealName = s.name) " +
+                        "GROUP BY s.name")
+        List<Object[]> findUnlinkedSealNames();
+
+        /**
+         * 加锁读取尚未关联印章的某名称申请的快照字段（关联印章前调用，行锁持有到事务结束）
+         * 
+         * @return 字段同 {@link #findStatesForUpdate(Collection)}
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT sa.id, sa.applicationNo, sa.sealName, sa.sealId, sa.applicant, sa.department, sa.status, " +
+                        "sa.applyTime, sa.approveTime FROM SealApplication sa " +
+                        "WHERE sa.sealId IS NULL AND sa.sealName = :sealName")
+        List<Object[]> findUnlinkedStatesForUpdate(@Param("sealName") String sealName);
+
+        /**
+         * 加锁读取关联到某印章的申请的快照字段（删除印章前调用，行锁持有到事务结束）
+         * 
+         * @return 字段同 {@link #findStatesForUpdate(Collection)}
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT sa.id, sa.applicationNo, sa.sealName, sa.sealId, sa.applicant, sa.department, sa.status, " +
+                        "sa.applyTime, sa.approveTime FROM SealApplication sa WHERE sa.sealId = :sealId")
+        List<Object[]> findLinkedStatesForUpdate(@Param("sealId") Long sealId);
+
+        /**
+         * 批量修改申请关联的印章，版本号加一（持有旧版本的并发修改因此失败，不会写回旧的印章ID）
+         * 
+         * @param sealId 印章ID，null 表示解除关联
+         * @return 更新的记录数
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE SealApplication sa SET sa.sealId = :sealId, sa.version = sa.version + 1 WHERE sa.id IN :ids")
+        int updateSealId(@Param("ids") Collection<Long> ids, @Param("sealId") Long sealId);
+
+        /**
+         * 读取并锁定一批申请的快照字段（批量审批前调用，避免与单条审批并发；不加载 TEXT 列）
+         * 
+         * @param ids 申请ID
+         * @return [申请ID, 申请编号, 印章名称, 印章ID, 申请人, 部门, 状态, 申请时间, 审批时间] 列表，不存在的ID不返回
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT sa.id, sa.applicationNo, sa.sealName, sa.sealId, sa.applicant, sa.department, sa.status, " +
+                        "sa.applyTime, sa.approveTime FROM SealApplication sa WHERE sa.id IN :ids")
+        List<Object[]> findStatesForUpdate(@Param("ids") Collection<Long> ids);
+
+        /**
+         * 批量审批：一条条件更新完成一批待审批申请的状态流转
+         * 
+         * @return 更新的记录数
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE SealApplication sa SET sa.status = :status, sa.approver = :approver, " +
+                        "sa.approveTime = :approveTime, sa.approveRemark = :remark, sa.updateTime = :approveTime, " +
+                        "sa.version = sa.version + 1 " +
+                        "WHERE sa.id IN :ids AND sa.status = 'PENDING'")
+        int approvePending(@Param("ids") Collection<Long> ids,
+                        @Param("status") SealApplication.ApplicationStatus status,
+                        @Param("approver") String approver, @Param("remark") String remark,
+                        @Param("approveTime") LocalDateTime approveTime);
+
+        /**
+         * 审批：仅当申请仍为待审批时更新（不校验版本号）
+         * 
+         * @return 更新的记录数，0 表示申请不存在或已处理
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE SealApplication sa SET sa.status = :status, sa.approver = :approver, " +
+                        "sa.approveTime = :approveTime, sa.approveRemark = :remark, sa.updateTime = :approveTime, " +
+                        "sa.version = sa.version + 1 " +
+                        "WHERE sa.id = :id AND sa.status = 'PENDING'")
+        int approveIfPending(@Param("id") Long id, @Param("status") SealApplication.ApplicationStatus status,
+                        @Param("approver") String approver, @Param("remark") String remark,
+                        @Param("approveTime") LocalDateTime approveTime);
+
+        /**
+         * 审批：仅当申请仍为待审批且版本号一致时更新
+         * 
+         * @param version 期望的版本号
+         * @return 更新的记录数，0 表示申请不存在、已处理或已被修改
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE SealApplication sa SET sa.status = :status, sa.approver = :approver, " +
+                        "sa.approveTime = :approveTime, sa.approveRemark = :remark, sa.updateTime = :approveTime, " +
+                        "sa.version = sa.version + 1 " +
+                        "WHERE sa.id = :id AND sa.status = 'PENDING' AND sa.version = :version")
+        int approveIfPendingAndVersion(@Param("id") Long id,
+                        @Param("status") SealApplication.ApplicationStatus status,
+                        @Param("approver") String approver, @Param("remark") String remark,
+                        @Param("approveTime") LocalDateTime approveTime, @Param("version") Long version);
+
+        /**
+         * 完成：仅当申请为已批准时更新（不校验版本号）
+         * 
+         * @return 更新的记录数，0 表示申请不存在或状态不符
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE SealApplication sa SET sa.status = 'COMPLETED', sa.updateTime = :updateTime, " +
+                        "sa.version = sa.version + 1 " +
+                        "WHERE sa.id = :id AND sa.status = 'APPROVED'")
+        int completeIfApproved(@Param("id") Long id, @Param("updateTime") LocalDateTime updateTime);
+
+        /**
+         * 完成：仅当申请为已批准且版本号一致时更新
+         * 
+         * @param version 期望的版本号
+         * @return 更新的记录数，0 表示申请不存在、状态不符或已被修改
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE SealApplication sa SET sa.status = 'COMPLETED', sa.updateTime = :updateTime, " +
+                        "sa.version = sa.version + 1 " +
+                        "WHERE sa.id = :id AND sa.status = 'APPROVED' AND sa.version = :version")
+        int completeIfApprovedAndVersion(@Param("id") Long id, @Param("updateTime") LocalDateTime updateTime,
+                        @Param("version") Long version);
+
+        /**
+         * 撤回：仅当申请人一致、申请仍为待审批且版本号一致时删除
+         * 
+         * @return 删除的记录数，0 表示条件不满足
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("DELETE FROM SealApplication sa WHERE sa.id = :id AND sa.applicant = :applicant " +
+                        "AND sa.status = 'PENDING' AND sa.version = :version")
+        int deleteIfPending(@Param("id") Long id, @Param("applicant") String applicant,
+                        @Param("version") Long version);
+
+        /**
+         * 查询给定编号中已被使用的申请编号
+         */
+        @Query("SELECT sa.applicationNo FROM SealApplication sa WHERE sa.applicationNo IN :applicationNos")
+        List<String> findExistingApplicationNos(@Param("applicationNos") Collection<String> applicationNos);
 
         /**
          * 计算平均处理时间
@@ -172,34 +313,24 @@ public interface SealApplicationRepository extends JpaRepository<SealApplication
         Double getAverageProcessingTime();
 
         /**
-         * 查找待审批的申请
-         * 
-         * @param pageable 分页参数
-         * @return 待审批申请列表
-         */
-        @Query("SELECT sa FROM SealApplication sa WHERE sa.status = 'PENDING' ORDER BY sa.applyTime ASC")
-        Page<SealApplication> findPendingApplications(Pageable pageable);
-
-        /**
-         * 查找即将到期的申请（期望用印时间）
+         * 按主键顺序分批读取已审批申请的审批时长数据
          * 
-         * @param hours 小时数
-         * @return 即将到期的申请列表
+         * @param afterId  上一批最后一条记录的ID
+         * @param pageable 仅用于限制返回条数
+         * @return [id, applicationNo, applyTime, approveTime] 列表
          */
-        @Query("SELECT sa FROM SealApplication sa WHERE sa.status = 'APPROVED' " +
-                        "AND sa.expectedTime <= :hours")
-        List<SealApplication> findUpcomingApplications(@Param("hours") LocalDateTime hours);
+        @Query("SELECT sa.id, sa.applicationNo, sa.applyTime, sa.approveTime FROM SealApplication sa " +
+                        "WHERE sa.id > :afterId AND sa.approveTime IS NOT NULL ORDER BY sa.id ASC")
+        List<Object[]> findApprovalDurations(@Param("afterId") Long afterId, Pageable pageable);
 
         /**
-         * 查找特定保管人的待审批申请
+         * 查找待审批的申请
          * 
-         * @param keeper   保管人姓名
          * @param pageable 分页参数
          * @return 待审批申请列表
          */
-        @Query("SELECT sa FROM SealApplication sa, Seal s WHERE sa.sealName = s.name " +
-                        "AND s.keeper = :keeper AND sa.status = 'PENDING' ORDER BY sa.applyTime ASC")
-        Page<SealApplication> findKeeperPendingApplications(@Param("keeper") String keeper, Pageable pageable);
+        @Query("SELECT sa FROM SealApplication sa WHERE sa.status = 'PENDING' ORDER BY sa.applyTime ASC")
+        Page<SealApplication> findPendingApplications(Pageable pageable);
 
         /**
          * 获取审批时长范围统计
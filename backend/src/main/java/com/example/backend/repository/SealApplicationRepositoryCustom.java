@@ -0,0 +1,51 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.SealApplicationSummary;
+import com.example.backend.entity.SealApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 用印申请列表投影查询与批量写入
+ * 列表只读取 {@link SealApplicationSummary} 中的列，不加载用印目的、审批意见等大字段
+ */
+public interface SealApplicationRepositoryCustom {
+
+    /**
+     * 查询申请列表项
+     *
+     * @param spec  查询条件
+     * @param sort  排序
+     * @param limit 最多返回条数
+     * @return 列表项
+     */
+    List<SealApplicationSummary> findSummaries(Specification<SealApplication> spec, Sort sort, int limit);
+
+    /**
+     * 分页查询申请列表项（含总数）
+     */
+    Page<SealApplicationSummary> findSummaryPage(Specification<SealApplication> spec, Pageable pageable);
+
+    /**
+     * 分页查询申请列表项（不统计总数）
+     */
+    Slice<SealApplicationSummary> findSummarySlice(Specification<SealApplication> spec, Pageable pageable);
+
+    /**
+     * JDBC 批量插入申请（一次往返写入一批，MySQL 驱动开启 rewriteBatchedStatements 后合并为多行 INSERT），
+     * 插入后回填自增ID；不经过实体生命周期回调，申请时间、更新时间、编号和版本号需由调用方设置
+     */
+    void insertAll(List<SealApplication> applications);
+
+    /**
+     * 按条件流式读取申请（按 fetchSize 分批从数据库取行，每行读出后即从持久化上下文分离），
+     * 需在事务内消费并关闭
+     */
+    Stream<SealApplication> streamAll(Specification<SealApplication> spec, Sort sort, int fetchSize);
+}
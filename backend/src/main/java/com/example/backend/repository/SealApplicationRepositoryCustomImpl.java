@@ -0,0 +1,168 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.SealApplicationSummary;
+import com.example.backend.entity.SealApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 用印申请列表投影查询与批量写入实现
+ */
+class SealApplicationRepositoryCustomImpl implements SealApplicationRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO seal_applications (application_no, seal_name, seal_id, "
+            + "seal_type, seal_shape, seal_owner_department, seal_keeper_department, applicant, department, "
+            + "file_name, addressee, copies, purpose, attachment_url, attachment_name, expected_time, status, "
+            + "approver, approve_time, approve_remark, documents, apply_time, update_time, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EntityManager entityManager;
+
+    private final SummaryQueries<SealApplication, SealApplicationSummary> summaries;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SealApplicationRepositoryCustomImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.summaries = new SummaryQueries<>(entityManager, SealApplication.class, SealApplicationSummary.class,
+                (root, cb) -> new Selection<?>[] {
+                        root.get("id"),
+                        root.get("applicationNo"),
+                        root.get("sealName"),
+                        root.get("sealId"),
+                        root.get("sealType"),
+                        root.get("sealShape"),
+                        root.get("applicant"),
+                        root.get("department"),
+                        root.get("fileName"),
+                        root.get("addressee"),
+                        root.get("copies"),
+                        cb.substring(root.get("purpose"), 1, SealApplicationSummary.PURPOSE_PREVIEW_LENGTH),
+                        root.get("attachmentUrl"),
+                        root.get("attachmentName"),
+                        root.get("expectedTime"),
+                        root.get("status"),
+                        root.get("approver"),
+                        root.get("approveTime"),
+                        root.get("applyTime"),
+                        root.get("version")
+                });
+    }
+
+    @Override
+    public List<SealApplicationSummary> findSummaries(Specification<SealApplication> spec, Sort sort, int limit) {
+        return summaries.list(spec, sort, 0, limit);
+    }
+
+    @Override
+    public Page<SealApplicationSummary> findSummaryPage(Specification<SealApplication> spec, Pageable pageable) {
+        return summaries.page(spec, pageable);
+    }
+
+    @Override
+    public Slice<SealApplicationSummary> findSummarySlice(Specification<SealApplication> spec, Pageable pageable) {
+        return summaries.slice(spec, pageable);
+    }
+
+    @Override
+    public Stream<SealApplication> streamAll(Specification<SealApplication> spec, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SealApplication> query = cb.createQuery(SealApplication.class);
+        Root<SealApplication> root = query.from(SealApplication.class);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(application -> {
+                    // 不保留已读取的实体，导出任意行数时内存占用不变
+                    entityManager.detach(application);
+                    return application;
+                });
+    }
+
+    @Override
+    public void insertAll(List<SealApplication> applications) {
+        if (applications.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        SealApplication a = applications.get(i);
+                        ps.setString(1, a.getApplicationNo());
+                        ps.setString(2, a.getSealName());
+                        ps.setObject(3, a.getSealId());
+                        ps.setString(4, name(a.getSealType()));
+                        ps.setString(5, name(a.getSealShape()));
+                        ps.setString(6, a.getSealOwnerDepartment());
+                        ps.setString(7, a.getSealKeeperDepartment());
+                        ps.setString(8, a.getApplicant());
+                        ps.setString(9, a.getDepartment());
+                        ps.setString(10, a.getFileName());
+                        ps.setString(11, a.getAddressee());
+                        ps.setObject(12, a.getCopies());
+                        ps.setString(13, a.getPurpose());
+                        ps.setString(14, a.getAttachmentUrl());
+                        ps.setString(15, a.getAttachmentName());
+                        ps.setObject(16, a.getExpectedTime());
+                        ps.setString(17, name(a.getStatus()));
+                        ps.setString(18, a.getApprover());
+                        ps.setObject(19, a.getApproveTime());
+                        ps.setString(20, a.getApproveRemark());
+                        ps.setString(21, a.getDocuments());
+                        ps.setObject(22, a.getApplyTime());
+                        ps.setObject(23, a.getUpdateTime());
+                        ps.setLong(24, a.getVersion() != null ? a.getVersion() : 0L);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return applications.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < applications.size(); i++) {
+            SealApplication application = applications.get(i);
+            application.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            if (application.getVersion() == null) {
+                application.setVersion(0L);
+            }
+        }
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
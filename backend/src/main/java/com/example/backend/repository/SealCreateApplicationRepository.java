@@ -4,6 +4,8 @@ import com.example.backend.entity.SealCreateApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,9 +16,11 @@ import java.util.Optional;
 
 /**
  * 印章创建申请数据访问接口
+ * 复合条件查询见 {@link com.example.backend.repository.specification.SealCreateApplicationSpecifications}
  */
 @Repository
-public interface SealCreateApplicationRepository extends JpaRepository<SealCreateApplication, Long> {
+public interface SealCreateApplicationRepository extends JpaRepository<SealCreateApplication, Long>,
+        JpaSpecificationExecutor<SealCreateApplication>, SealCreateApplicationRepositoryCustom {
 
     /**
      * 根据申请编号查找申请
@@ -44,25 +48,6 @@ public interface SealCreateApplicationRepository extends JpaRepository<SealCreat
     @Query("SELECT sca FROM SealCreateApplication sca WHERE sca.status = 'PENDING' ORDER BY sca.applyTime ASC")
     Page<SealCreateApplication> findPendingApplications(Pageable pageable);
 
-    /**
-     * 复合条件查询申请
-     */
-    @Query("SELECT sca FROM SealCreateApplication sca WHERE " +
-            "(:keyword IS NULL OR sca.applicationNo LIKE %:keyword% OR sca.sealName LIKE %:keyword% OR sca.applicant LIKE %:keyword%) "
-            +
-            "AND (:status IS NULL OR sca.status = :status) " +
-            "AND (:applicant IS NULL OR sca.applicant = :applicant) " +
-            "AND (:department IS NULL OR sca.applicantDepartment = :department) " +
-            "AND (:startTime IS NULL OR sca.applyTime >= :startTime) " +
-            "AND (:endTime IS NULL OR sca.applyTime <= :endTime)")
-    Page<SealCreateApplication> findByConditions(@Param("keyword") String keyword,
-            @Param("status") SealCreateApplication.ApplicationStatus status,
-            @Param("applicant") String applicant,
-            @Param("department") String department,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime,
-            Pageable pageable);
-
     /**
      * 统计申请数量按状态
      */
@@ -82,4 +67,44 @@ public interface SealCreateApplicationRepository extends JpaRepository<SealCreat
             "FROM SealCreateApplication sca " +
             "WHERE sca.approveTime IS NOT NULL")
     Double getAverageProcessingTime();
-}
\ No newline at end of file
+
+    /**
+     * 审批：仅当申请仍为待审批时更新（不校验版本号）
+     *
+     * @return 更新的记录数，0 表示申请不存在或已处理
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SealCreateApplication sca SET sca.status = :status, sca.approver = :approver, " +
+            "sca.approveTime = :approveTime, sca.approveRemark = :remark, sca.updateTime = :approveTime, " +
+            "sca.version = sca.version + 1 " +
+            "WHERE sca.id = :id AND sca.status = 'PENDING'")
+    int approveIfPending(@Param("id") Long id, @Param("status") SealCreateApplication.ApplicationStatus status,
+            @Param("approver") String approver, @Param("remark") String remark,
+            @Param("approveTime") LocalDateTime approveTime);
+
+    /**
+     * 审批：仅当申请仍为待审批且版本号一致时更新
+     *
+     * @param version 期望的版本号
+     * @return 更新的记录数，0 表示申请不存在、已处理或已被修改
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SealCreateApplication sca SET sca.status = :status, sca.approver = :approver, " +
+            "sca.approveTime = :approveTime, sca.approveRemark = :remark, sca.updateTime = :approveTime, " +
+            "sca.version = sca.version + 1 " +
+            "WHERE sca.id = :id AND sca.status = 'PENDING' AND sca.version = :version")
+    int approveIfPendingAndVersion(@Param("id") Long id,
+            @Param("status") SealCreateApplication.ApplicationStatus status,
+            @Param("approver") String approver, @Param("remark") String remark,
+            @Param("approveTime") LocalDateTime approveTime, @Param("version") Long version);
+
+    /**
+     * 撤回：仅当申请人一致且申请仍为待审批时删除
+     *
+     * @return 删除的记录数，0 表示条件不满足
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SealCreateApplication sca WHERE sca.id = :id AND sca.applicant = :applicant " +
+            "AND sca.status = 'PENDING'")
+    int deleteIfPending(@Param("id") Long id, @Param("applicant") String applicant);
+}
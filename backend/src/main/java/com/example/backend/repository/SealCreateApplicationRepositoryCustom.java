@@ -0,0 +1,24 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.SealCreateApplicationSummary;
+import com.example.backend.entity.SealCreateApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 刻章申请列表投影查询
+ * 列表只读取 {@link SealCreateApplicationSummary} 中的列
+ */
+public interface SealCreateApplicationRepositoryCustom {
+
+    /**
+     * 分页查询申请列表项
+     *
+     * @param spec     查询条件
+     * @param pageable 分页参数
+     * @return 列表项分页
+     */
+    Page<SealCreateApplicationSummary> findSummaryPage(Specification<SealCreateApplication> spec,
+            Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.SealCreateApplicationSummary;
+import com.example.backend.entity.SealCreateApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 刻章申请列表投影查询实现
+ */
+class SealCreateApplicationRepositoryCustomImpl implements SealCreateApplicationRepositoryCustom {
+
+    private final SummaryQueries<SealCreateApplication, SealCreateApplicationSummary> summaries;
+
+    SealCreateApplicationRepositoryCustomImpl(EntityManager entityManager) {
+        this.summaries = new SummaryQueries<>(entityManager, SealCreateApplication.class,
+                SealCreateApplicationSummary.class,
+                (root, cb) -> new Selection<?>[] {
+                        root.get("id"),
+                        root.get("applicationNo"),
+                        root.get("sealName"),
+                        root.get("sealType"),
+                        root.get("sealShape"),
+                        root.get("ownerDepartment"),
+                        root.get("keeperDepartment"),
+                        root.get("keeper"),
+                        root.get("applicant"),
+                        root.get("applicantDepartment"),
+                        root.get("status"),
+                        root.get("approver"),
+                        root.get("approveTime"),
+                        root.get("applyTime"),
+                        root.get("version")
+                });
+    }
+
+    @Override
+    public Page<SealCreateApplicationSummary> findSummaryPage(Specification<SealCreateApplication> spec,
+            Pageable pageable) {
+        return summaries.page(spec, pageable);
+    }
+}
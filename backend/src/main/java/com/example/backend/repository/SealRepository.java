@@ -4,17 +4,20 @@ import com.example.backend.entity.Seal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 印章数据访问层接口
+ * 复合条件查询见 {@link com.example.backend.repository.specification.SealSpecifications}
  */
 @Repository
-public interface SealRepository extends JpaRepository<Seal, Long> {
+public interface SealRepository extends JpaRepository<Seal, Long>, JpaSpecificationExecutor<Seal> {
 
         /**
          * 检查印章名称是否存在
@@ -37,14 +40,9 @@ public interface SealRepository extends JpaRepository<Seal, Long> {
         Page<Seal> findByStatus(Seal.SealStatus status, Pageable pageable);
 
         /**
-         * 复合条件查询：根据关键字和状态
+         * 按名称查找印章（同名时取ID最小的一个），用于申请关联印章
          */
-        @Query("SELECT s FROM Seal s WHERE " +
-                        "(:keyword IS NULL OR s.name LIKE %:keyword% OR s.description LIKE %:keyword%) AND " +
-                        "(:status IS NULL OR s.status = :status)")
-        Page<Seal> findByKeywordAndStatus(@Param("keyword") String keyword,
-                        @Param("status") Seal.SealStatus status,
-                        Pageable pageable);
+        Optional<Seal> findFirstByNameOrderByIdAsc(String name);
 
         /**
          * 根据保管人查询
@@ -56,6 +54,18 @@ public interface SealRepository extends JpaRepository<Seal, Long> {
          */
         List<Seal> findByTypeAndStatus(Seal.SealType type, Seal.SealStatus status);
 
+        /**
+         * 查询所有不同的印章名称（用于拼音索引）
+         */
+        @Query("SELECT DISTINCT s.name FROM Seal s")
+        List<String> findDistinctNames();
+
+        /**
+         * 查询所有不同的保管人（用于拼音索引）
+         */
+        @Query("SELECT DISTINCT s.keeper FROM Seal s WHERE s.keeper IS NOT NULL")
+        List<String> findDistinctKeepers();
+
         /**
          * 统计各状态的印章数量
          */
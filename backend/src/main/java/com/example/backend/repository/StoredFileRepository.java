@@ -0,0 +1,49 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.StoredFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 存储文件数据访问层接口
+ */
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+        /**
+         * 引用计数加一，行锁持有到事务结束（同一内容的写入与删除因此串行执行）
+         *
+         * @return 更新的行数，0 表示该内容尚未存储
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE StoredFile f SET f.refCount = f.refCount + 1 WHERE f.hash = :hash")
+        int incrementRefCount(@Param("hash") String hash);
+
+        /**
+         * 插入新内容的记录（引用计数为 1）；并发插入同一内容时主键冲突
+         * 不使用 save：主键已赋值的实体会按合并处理，可能覆盖并发写入的引用计数
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query(value = "INSERT INTO stored_files (hash, size, ref_count, create_time) "
+                        + "VALUES (:hash, :size, 1, CURRENT_TIMESTAMP)", nativeQuery = true)
+        int insert(@Param("hash") String hash, @Param("size") long size);
+
+        /**
+         * 引用计数减少 count，行锁持有到事务结束
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE StoredFile f SET f.refCount = f.refCount - :count WHERE f.hash = :hash")
+        int decrementRefCount(@Param("hash") String hash, @Param("count") int count);
+
+        /**
+         * 引用计数已降为 0 时删除记录
+         *
+         * @return 删除的行数，1 表示文件内容可以删除
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("DELETE FROM StoredFile f WHERE f.hash = :hash AND f.refCount <= 0")
+        int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,109 @@
+package com.example.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 列表投影查询
+ * 按 Specification 过滤，但只 SELECT 列表需要的列并直接构造 DTO，
+ * 不加载实体、不进入持久化上下文
+ *
+ * @param <T> 实体类型
+ * @param <R> 列表项类型
+ */
+final class SummaryQueries<T, R> {
+
+    private final EntityManager entityManager;
+    private final Class<T> domainClass;
+    private final Class<R> resultClass;
+    private final BiFunction<Root<T>, CriteriaBuilder, Selection<?>[]> columns;
+
+    SummaryQueries(EntityManager entityManager, Class<T> domainClass, Class<R> resultClass,
+            BiFunction<Root<T>, CriteriaBuilder, Selection<?>[]> columns) {
+        this.entityManager = entityManager;
+        this.domainClass = domainClass;
+        this.resultClass = resultClass;
+        this.columns = columns;
+    }
+
+    /**
+     * 查询列表项
+     *
+     * @param limit 最多返回条数，小于等于 0 表示不限制
+     */
+    List<R> list(Specification<T> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(resultClass);
+        Root<T> root = query.from(domainClass);
+        query.select(cb.construct(resultClass, columns.apply(root, cb)));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<R> typedQuery = entityManager.createQuery(query);
+        if (offset > 0) {
+            typedQuery.setFirstResult(Math.toIntExact(offset));
+        }
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * 分页查询，最后一页不满时省略 COUNT
+     */
+    Page<R> page(Specification<T> spec, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<R> content = list(spec, pageable.getSort(), 0, 0);
+            return PageableExecutionUtils.getPage(content, pageable, content::size);
+        }
+        List<R> content = list(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    /**
+     * 不统计总数的分页查询，多取一行判断是否有下一页
+     */
+    Slice<R> slice(Specification<T> spec, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(list(spec, pageable.getSort(), 0, 0), pageable, false);
+        }
+        int size = pageable.getPageSize();
+        List<R> content = list(spec, pageable.getSort(), pageable.getOffset(), size + 1);
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, pageable, hasNext);
+    }
+
+    private long count(Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -4,6 +4,7 @@ import com.example.backend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,9 +15,10 @@ import java.util.Optional;
 /**
  * 用户数据访问接口
  * 提供用户管理相关的数据库操作方法
+ * 复合条件查询见 {@link com.example.backend.repository.specification.UserSpecifications}
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     /**
      * 根据用户名查找用户
@@ -99,23 +101,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Page<User> findByStatusAndRole(User.UserStatus status, User.UserRole role, Pageable pageable);
 
     /**
-     * 根据关键字、状态、角色进行复合查询
+     * 查询所有不同的真实姓名（用于拼音索引）
      * 
-     * @param keyword  搜索关键字
-     * @param status   用户状态
-     * @param role     用户角色
-     * @param pageable 分页参数
-     * @return 用户分页列表
+     * @return 姓名列表
      */
-    @Query("SELECT u FROM User u WHERE " +
-            "(:keyword IS NULL OR u.username LIKE %:keyword% OR u.realName LIKE %:keyword% OR u.department LIKE %:keyword%) "
-            +
-            "AND (:status IS NULL OR u.status = :status) " +
-            "AND (:role IS NULL OR u.role = :role)")
-    Page<User> findByConditions(@Param("keyword") String keyword,
-            @Param("status") User.UserStatus status,
-            @Param("role") User.UserRole role,
-            Pageable pageable);
+    @Query("SELECT DISTINCT u.realName FROM User u")
+    List<String> findDistinctRealNames();
 
     /**
      * 统计用户数量按状态
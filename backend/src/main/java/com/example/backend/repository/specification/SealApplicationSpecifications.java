@@ -0,0 +1,101 @@
+package com.example.backend.repository.specification;
+
+import com.example.backend.common.PageCursor;
+import com.example.backend.entity.Seal;
+import com.example.backend.entity.SealApplication;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用印申请查询条件
+ */
+public final class SealApplicationSpecifications {
+
+    private SealApplicationSpecifications() {
+    }
+
+    /**
+     * 复合条件查询，只包含实际传入的条件
+     *
+     * @param keywordCandidates 关键字倒排索引给出的候选ID，为 null 表示不使用索引
+     * @param pinyinApplicants  关键字按拼音匹配到的申请人
+     */
+    public static SearchSpecificationBuilder<SealApplication> search(String keyword,
+            Set<Long> keywordCandidates,
+            Set<String> pinyinApplicants,
+            SealApplication.ApplicationStatus status,
+            String applicant,
+            String department,
+            LocalDateTime startTime,
+            LocalDateTime endTime) {
+        return SearchSpecificationBuilder.<SealApplication>create()
+                .and(keyword(keyword, keywordCandidates, pinyinApplicants))
+                .equal("status", status)
+                .equal("applicant", applicant)
+                .equal("department", department)
+                .greaterThanOrEqual("applyTime", startTime)
+                .lessThanOrEqual("applyTime", endTime);
+    }
+
+    /**
+     * 关键字条件：申请编号、用印目的、申请人包含关键字（限定在索引候选ID内），或申请人拼音匹配
+     *
+     * @return 条件；关键字为空时返回 null
+     */
+    public static Specification<SealApplication> keyword(String keyword, Set<Long> candidates,
+            Set<String> pinyinApplicants) {
+        Specification<SealApplication> textMatch = SearchSpecificationBuilder.containsAny(keyword,
+                "applicationNo", "purpose", "applicant");
+        if (textMatch == null) {
+            return null;
+        }
+
+        List<Specification<SealApplication>> alternatives = new ArrayList<>();
+        if (candidates == null) {
+            alternatives.add(textMatch);
+        } else if (!candidates.isEmpty()) {
+            alternatives.add(textMatch.and((root, query, cb) -> root.get("id").in(candidates)));
+        }
+        if (pinyinApplicants != null && !pinyinApplicants.isEmpty()) {
+            alternatives.add((root, query, cb) -> root.get("applicant").in(pinyinApplicants));
+        }
+        if (alternatives.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return Specification.anyOf(alternatives);
+    }
+
+    /**
+     * 游标位置之后的记录（按申请时间、ID倒序）
+     */
+    public static Specification<SealApplication> after(PageCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDateTime>get("applyTime"), cursor.getTime()),
+                cb.and(cb.equal(root.get("applyTime"), cursor.getTime()),
+                        cb.lessThan(root.<Long>get("id"), cursor.getId())));
+    }
+
+    /**
+     * 指定保管人所保管印章的待审批申请
+     * 先按保管人索引取出印章ID，再走申请表的 (seal_id, status) 索引
+     */
+    public static Specification<SealApplication> keeperPending(String keeper) {
+        return (root, query, cb) -> {
+            Subquery<Long> sealIds = query.subquery(Long.class);
+            Root<Seal> seal = sealIds.from(Seal.class);
+            sealIds.select(seal.get("id")).where(cb.equal(seal.get("keeper"), keeper));
+            return cb.and(
+                    root.get("sealId").in(sealIds),
+                    cb.equal(root.get("status"), SealApplication.ApplicationStatus.PENDING));
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.repository.specification;
+
+import com.example.backend.entity.SealCreateApplication;
+
+import java.time.LocalDateTime;
+
+/**
+ * 印章创建申请查询条件
+ */
+public final class SealCreateApplicationSpecifications {
+
+    private SealCreateApplicationSpecifications() {
+    }
+
+    /**
+     * 复合条件查询，只包含实际传入的条件
+     */
+    public static SearchSpecificationBuilder<SealCreateApplication> search(String keyword,
+            SealCreateApplication.ApplicationStatus status,
+            String applicant,
+            String department,
+            LocalDateTime startTime,
+            LocalDateTime endTime) {
+        return SearchSpecificationBuilder.<SealCreateApplication>create()
+                .contains(keyword, "applicationNo", "sealName", "applicant")
+                .equal("status", status)
+                .equal("applicant", applicant)
+                .equal("applicantDepartment", department)
+                .greaterThanOrEqual("applyTime", startTime)
+                .lessThanOrEqual("applyTime", endTime);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.repository.specification;
+
+import com.example.backend.entity.Seal;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 印章查询条件
+ */
+public final class SealSpecifications {
+
+    private SealSpecifications() {
+    }
+
+    /**
+     * 复合条件查询，只包含实际传入的条件
+     *
+     * @param pinyinNames   关键字按拼音匹配到的印章名称
+     * @param pinyinKeepers 关键字按拼音匹配到的保管人
+     */
+    public static SearchSpecificationBuilder<Seal> search(String keyword, Set<String> pinyinNames,
+            Set<String> pinyinKeepers, Seal.SealStatus status) {
+        return SearchSpecificationBuilder.<Seal>create()
+                .containsOrIn(keyword, Map.of("name", pinyinNames, "keeper", pinyinKeepers),
+                        "name", "description")
+                .equal("status", status);
+    }
+}
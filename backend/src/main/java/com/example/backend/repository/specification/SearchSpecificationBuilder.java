@@ -0,0 +1,141 @@
+package com.example.backend.repository.specification;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 动态查询条件构建器
+ * 只为实际传入的筛选参数生成谓词，未传入的参数不会出现在 SQL 中，
+ * 使数据库能够针对具体条件选择合适的索引
+ *
+ * @param <T> 实体类型
+ */
+public final class SearchSpecificationBuilder<T> {
+
+    private final List<Specification<T>> specifications = new ArrayList<>();
+
+    private SearchSpecificationBuilder() {
+    }
+
+    public static <T> SearchSpecificationBuilder<T> create() {
+        return new SearchSpecificationBuilder<>();
+    }
+
+    /**
+     * 等值条件，值为空时忽略
+     */
+    public SearchSpecificationBuilder<T> equal(String attribute, Object value) {
+        if (value != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * IN 条件，集合为 null 时忽略，为空集合时不匹配任何记录
+     */
+    public SearchSpecificationBuilder<T> in(String attribute, Collection<?> values) {
+        if (values != null) {
+            specifications.add((root, query, cb) -> values.isEmpty()
+                    ? cb.disjunction()
+                    : root.get(attribute).in(values));
+        }
+        return this;
+    }
+
+    /**
+     * 多字段模糊匹配（任一字段包含关键字即可），关键字为空时忽略
+     */
+    public SearchSpecificationBuilder<T> contains(String keyword, String... attributes) {
+        return and(containsAny(keyword, attributes));
+    }
+
+    /**
+     * 多字段模糊匹配，或者指定字段取值在给定集合内（如拼音匹配到的姓名），关键字为空时忽略
+     */
+    public SearchSpecificationBuilder<T> containsOrIn(String keyword, Map<String, ? extends Collection<?>> inValues,
+            String... attributes) {
+        Specification<T> textMatch = containsAny(keyword, attributes);
+        if (textMatch == null) {
+            return this;
+        }
+        List<Specification<T>> alternatives = new ArrayList<>();
+        alternatives.add(textMatch);
+        inValues.forEach((attribute, values) -> {
+            if (values != null && !values.isEmpty()) {
+                alternatives.add((root, query, cb) -> root.get(attribute).in(values));
+            }
+        });
+        return and(Specification.anyOf(alternatives));
+    }
+
+    /**
+     * 多字段模糊匹配条件
+     *
+     * @return 条件；关键字为空时返回 null
+     */
+    public static <T> Specification<T> containsAny(String keyword, String... attributes) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return null;
+        }
+        String pattern = "%" + keyword.trim() + "%";
+        return (root, query, cb) -> {
+            Predicate[] predicates = new Predicate[attributes.length];
+            for (int i = 0; i < attributes.length; i++) {
+                predicates[i] = cb.like(root.get(attributes[i]), pattern);
+            }
+            return cb.or(predicates);
+        };
+    }
+
+    /**
+     * 大于等于条件，值为空时忽略
+     */
+    public <Y extends Comparable<? super Y>> SearchSpecificationBuilder<T> greaterThanOrEqual(String attribute,
+            Y value) {
+        if (value != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.<Y>get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * 小于等于条件，值为空时忽略
+     */
+    public <Y extends Comparable<? super Y>> SearchSpecificationBuilder<T> lessThanOrEqual(String attribute,
+            Y value) {
+        if (value != null) {
+            specifications.add((root, query, cb) -> cb.lessThanOrEqualTo(root.<Y>get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * 追加自定义条件，为空时忽略
+     */
+    public SearchSpecificationBuilder<T> and(Specification<T> specification) {
+        if (specification != null) {
+            specifications.add(specification);
+        }
+        return this;
+    }
+
+    /**
+     * 是否没有任何条件
+     */
+    public boolean isEmpty() {
+        return specifications.isEmpty();
+    }
+
+    /**
+     * 生成组合条件（AND 连接）
+     */
+    public Specification<T> build() {
+        return Specification.allOf(specifications);
+    }
+}
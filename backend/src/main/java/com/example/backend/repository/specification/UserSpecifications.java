@@ -0,0 +1,28 @@
+package com.example.backend.repository.specification;
+
+import com.example.backend.entity.User;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 用户查询条件
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * 复合条件查询，只包含实际传入的条件
+     *
+     * @param pinyinNames 关键字按拼音匹配到的真实姓名
+     */
+    public static SearchSpecificationBuilder<User> search(String keyword, Set<String> pinyinNames,
+            User.UserStatus status, User.UserRole role) {
+        return SearchSpecificationBuilder.<User>create()
+                .containsOrIn(keyword, Map.of("realName", pinyinNames), "username", "realName", "department")
+                .equal("status", status)
+                .equal("role", role);
+    }
+}
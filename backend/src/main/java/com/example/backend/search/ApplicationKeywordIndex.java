@@ -0,0 +1,225 @@
+package com.example.backend.search;
+
+import com.example.backend.event.SealApplicationChangedEvent;
+import com.example.backend.event.SealApplicationSnapshot;
+import com.example.backend.repository.SealApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 用印申请关键字倒排索引
+ * 对申请编号、用印目的、申请人建立二元组（bigram）倒排表，中文按字切分，
+ * 关键字搜索先在内存中求候选ID交集，数据库只需按主键读取候选行并校验
+ */
+@Component
+public class ApplicationKeywordIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationKeywordIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private SealApplicationRepository applicationRepository;
+
+    @Value("${search.keyword-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.keyword-index.max-candidates:5000}")
+    private int maxCandidates;
+
+    private volatile Map<String, PostingList> postings = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    private volatile ConcurrentLinkedQueue<SealApplicationChangedEvent> pendingDuringRebuild;
+
+    /**
+     * 启动后在后台线程构建索引，构建完成前搜索回退到数据库模糊查询
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "keyword-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 从数据库全量重建索引，按主键分批读取
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+        Map<String, PostingList> fresh = new ConcurrentHashMap<>();
+        long documents = 0;
+        try {
+            long lastId = 0;
+            while (true) {
+                List<Object[]> rows = applicationRepository.findKeywordDocuments(lastId,
+                        PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (Object[] row : rows) {
+                    long id = (Long) row[0];
+                    addDocument(fresh, id, (String) row[1], (String) row[2], (String) row[3]);
+                    lastId = id;
+                }
+                documents += rows.size();
+                if (rows.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            pendingDuringRebuild = null;
+            log.warn("关键字索引构建失败，搜索将回退到数据库查询", e);
+            return;
+        }
+
+        // 切换到新索引，并重放构建期间提交的变更（增删操作幂等）
+        ConcurrentLinkedQueue<SealApplicationChangedEvent> pending = pendingDuringRebuild;
+        postings = fresh;
+        pendingDuringRebuild = null;
+        SealApplicationChangedEvent event;
+        while ((event = pending.poll()) != null) {
+            apply(fresh, event);
+        }
+        ready = true;
+        log.info("关键字索引构建完成: {} 条申请, {} 个词元, 耗时 {} ms",
+                documents, fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 事务提交后增量维护索引
+     */
+    @TransactionalEventListener
+    public void onApplicationChanged(SealApplicationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ConcurrentLinkedQueue<SealApplicationChangedEvent> pending = pendingDuringRebuild;
+        if (pending != null) {
+            pending.add(event);
+        }
+        apply(postings, event);
+    }
+
+    /**
+     * 查找可能包含关键字的申请ID
+     * 返回的是候选集（各二元组同时出现），调用方仍需用模糊条件校验
+     *
+     * @param keyword 关键字
+     * @return 候选ID；索引未就绪、关键字过短或候选过多时返回 null，调用方应回退到数据库查询
+     */
+    public Set<Long> findCandidates(String keyword) {
+        if (!enabled || !ready || keyword == null) {
+            return null;
+        }
+        Set<String> grams = bigrams(keyword);
+        if (grams.isEmpty()) {
+            return null;
+        }
+
+        Map<String, PostingList> current = postings;
+        List<PostingList> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            PostingList list = current.get(gram);
+            if (list == null) {
+                return Set.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        // 从最短的倒排表开始求交集
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (long id : lists.get(0).toArray()) {
+            boolean matched = true;
+            for (int i = 1; i < lists.size() && matched; i++) {
+                matched = lists.get(i).contains(id);
+            }
+            if (matched) {
+                candidates.add(id);
+                if (candidates.size() > maxCandidates) {
+                    return null;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private void apply(Map<String, PostingList> target, SealApplicationChangedEvent event) {
+        SealApplicationSnapshot before = event.getBefore();
+        SealApplicationSnapshot after = event.getAfter();
+        if (before != null && before.getId() != null) {
+            removeDocument(target, before.getId(), before.getApplicationNo(), before.getPurpose(),
+                    before.getApplicant());
+        }
+        if (after != null && after.getId() != null) {
+            addDocument(target, after.getId(), after.getApplicationNo(), after.getPurpose(),
+                    after.getApplicant());
+        }
+    }
+
+    private void addDocument(Map<String, PostingList> target, long id, String... fields) {
+        for (String gram : bigrams(fields)) {
+            target.compute(gram, (key, list) -> {
+                PostingList result = list != null ? list : new PostingList();
+                result.add(id);
+                return result;
+            });
+        }
+    }
+
+    private void removeDocument(Map<String, PostingList> target, long id, String... fields) {
+        for (String gram : bigrams(fields)) {
+            target.computeIfPresent(gram, (key, list) -> {
+                list.remove(id);
+                return list.isEmpty() ? null : list;
+            });
+        }
+    }
+
+    /**
+     * 切分二元组：忽略大小写和空白，相邻两个字符为一个词元
+     */
+    static Set<String> bigrams(String... texts) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            String normalized = text.toLowerCase(Locale.ROOT);
+            int previous = -1;
+            for (int i = 0; i < normalized.length(); ) {
+                int codePoint = normalized.codePointAt(i);
+                i += Character.charCount(codePoint);
+                if (Character.isWhitespace(codePoint)) {
+                    previous = -1;
+                    continue;
+                }
+                if (previous != -1) {
+                    grams.add(new StringBuilder().appendCodePoint(previous).appendCodePoint(codePoint).toString());
+                }
+                previous = codePoint;
+            }
+        }
+        return grams;
+    }
+}
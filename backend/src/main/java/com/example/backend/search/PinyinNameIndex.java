@@ -0,0 +1,216 @@
+package com.example.backend.search;
+
+import com.example.backend.event.SealApplicationChangedEvent;
+import com.example.backend.repository.SealApplicationRepository;
+import com.example.backend.repository.SealRepository;
+import com.example.backend.repository.UserRepository;
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * 姓名/印章名称拼音索引
+ * 写入时为每个名称计算一次全拼和首字母（如 张三 → zhangsan、zs），
+ * 存入有序跳表做前缀查找，输入 zs、zhangs 即可在内存中找到对应的中文名称
+ */
+@Component
+public class PinyinNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PinyinNameIndex.class);
+
+    /** 多音字组合上限，避免长名称组合爆炸 */
+    private static final int MAX_READINGS = 16;
+
+    private static final Pattern PINYIN_QUERY = Pattern.compile("[a-z]+");
+
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    /**
+     * 索引的名称字段
+     */
+    public enum NameField {
+        USER_REAL_NAME,
+        SEAL_NAME,
+        SEAL_KEEPER,
+        APPLICANT
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SealRepository sealRepository;
+
+    @Autowired
+    private SealApplicationRepository applicationRepository;
+
+    @Value("${search.pinyin-index.max-matches:200}")
+    private int maxMatches;
+
+    private final Map<NameField, NavigableMap<String, Set<String>>> indexes = new EnumMap<>(NameField.class);
+
+    /** 名称 → 拼音键，每个名称只计算一次 */
+    private final Map<String, List<String>> keysByName = new ConcurrentHashMap<>();
+
+    public PinyinNameIndex() {
+        for (NameField field : NameField.values()) {
+            indexes.put(field, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /**
+     * 启动后在后台加载现有名称
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(() -> {
+            try {
+                userRepository.findDistinctRealNames().forEach(name -> register(NameField.USER_REAL_NAME, name));
+                sealRepository.findDistinctNames().forEach(name -> register(NameField.SEAL_NAME, name));
+                sealRepository.findDistinctKeepers().forEach(name -> register(NameField.SEAL_KEEPER, name));
+                applicationRepository.findDistinctApplicants().forEach(name -> register(NameField.APPLICANT, name));
+                log.info("拼音索引加载完成: {} 个名称", keysByName.size());
+            } catch (RuntimeException e) {
+                log.warn("拼音索引加载失败", e);
+            }
+        }, "pinyin-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 新申请提交后登记申请人
+     */
+    @TransactionalEventListener
+    public void onApplicationChanged(SealApplicationChangedEvent event) {
+        if (event.getAfter() != null) {
+            register(NameField.APPLICANT, event.getAfter().getApplicant());
+        }
+    }
+
+    /**
+     * 登记名称
+     * 名称不会因删除而移除：多余的名称只会让查询多一个 IN 值，不影响结果正确性
+     */
+    public void register(NameField field, String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        NavigableMap<String, Set<String>> index = indexes.get(field);
+        for (String key : keysByName.computeIfAbsent(name, PinyinNameIndex::pinyinKeys)) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(name);
+        }
+    }
+
+    /**
+     * 按拼音前缀查找名称
+     *
+     * @param field 名称字段
+     * @param query 查询输入，如 zs、zhangsan
+     * @return 匹配的名称；输入不是拼音（含中文、数字等）时返回空集合
+     */
+    public Set<String> findNames(NameField field, String query) {
+        if (query == null) {
+            return Set.of();
+        }
+        String normalized = query.replace(" ", "").toLowerCase(Locale.ROOT);
+        if (!PINYIN_QUERY.matcher(normalized).matches()) {
+            return Set.of();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (Set<String> matched : indexes.get(field)
+                .subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+            for (String name : matched) {
+                names.add(name);
+                if (names.size() >= maxMatches) {
+                    return names;
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 计算名称的全拼和首字母键，多音字展开为多个组合
+     */
+    static List<String> pinyinKeys(String name) {
+        List<StringBuilder> fulls = new ArrayList<>();
+        List<StringBuilder> initials = new ArrayList<>();
+        fulls.add(new StringBuilder());
+        initials.add(new StringBuilder());
+
+        for (char c : name.toLowerCase(Locale.ROOT).toCharArray()) {
+            String[] readings = readings(c);
+            if (readings == null) {
+                if (Character.isLetterOrDigit(c)) {
+                    fulls.forEach(sb -> sb.append(c));
+                    initials.forEach(sb -> sb.append(c));
+                }
+                continue;
+            }
+            List<StringBuilder> nextFulls = new ArrayList<>();
+            List<StringBuilder> nextInitials = new ArrayList<>();
+            for (int i = 0; i < fulls.size(); i++) {
+                for (String reading : readings) {
+                    if (nextFulls.size() >= MAX_READINGS) {
+                        break;
+                    }
+                    nextFulls.add(new StringBuilder(fulls.get(i)).append(reading));
+                    nextInitials.add(new StringBuilder(initials.get(i)).append(reading.charAt(0)));
+                }
+            }
+            fulls = nextFulls;
+            initials = nextInitials;
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        fulls.forEach(sb -> keys.add(sb.toString()));
+        initials.forEach(sb -> keys.add(sb.toString()));
+        keys.remove("");
+        return List.copyOf(keys);
+    }
+
+    private static String[] readings(char c) {
+        if (Character.UnicodeScript.of(c) != Character.UnicodeScript.HAN) {
+            return null;
+        }
+        try {
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, FORMAT);
+            if (readings == null || readings.length == 0) {
+                return null;
+            }
+            return new LinkedHashSet<>(List.of(readings)).toArray(new String[0]);
+        } catch (BadHanyuPinyinOutputFormatCombination e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.search;
+
+import java.util.Arrays;
+
+/**
+ * 倒排表
+ * 以有序 long 数组保存文档ID，比 Set&lt;Long&gt; 节省大量内存；
+ * 新申请ID递增，插入基本都是尾部追加
+ */
+class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    synchronized void add(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    synchronized void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    synchronized boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    synchronized long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.service;
+
+import java.util.Map;
+
+/**
+ * 统计仪表盘服务层接口
+ */
+public interface DashboardService {
+
+    /**
+     * 并行执行统计页需要的各项统计，一次返回
+     *
+     * @param months 月度趋势的月份数
+     * @return sections（各项统计结果）、timings（各项耗时，毫秒）、errors（失败或超时的项）、totalMs（总耗时）
+     */
+    Map<String, Object> getDashboard(int months);
+}
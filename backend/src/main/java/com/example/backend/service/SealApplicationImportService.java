@@ -0,0 +1,23 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ApplicationImportResult;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 用印申请导入服务接口
+ */
+public interface SealApplicationImportService {
+
+    /**
+     * 从 CSV 导入申请
+     * 首行为表头（字段名或中文列名，列顺序不限），逐行解析校验，校验通过的行按批写入；
+     * 每批一个事务，某批写入失败时该批逐行重试，只有出错的行记为失败
+     *
+     * @param reader CSV 内容
+     * @return 导入结果
+     * @throws IllegalArgumentException 文件为空或格式错误（如引号未闭合）
+     */
+    ApplicationImportResult importCsv(Reader reader) throws IOException;
+}
@@ -1,9 +1,15 @@
 package com.example.backend.service;
 
 import com.example.backend.common.PageResponse;
+import com.example.backend.dto.BatchApprovalResult;
+import com.example.backend.dto.SealApplicationSummary;
 import com.example.backend.entity.SealApplication;
+import com.example.backend.statistics.TrendGranularity;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +29,14 @@ public interface SealApplicationService {
          */
         SealApplication createApplication(SealApplication application);
 
+        /**
+         * 校验新申请的必填项（创建接口和批量导入共用）
+         * 
+         * @param application 申请信息
+         * @throws IllegalArgumentException 校验不通过
+         */
+        void validateNewApplication(SealApplication application);
+
         /**
          * 更新申请
          * 
@@ -58,10 +72,34 @@ public interface SealApplicationService {
         /**
          * 分页获取申请列表
          * 
-         * @param pageable 分页参数
+         * @param pageable  分页参数
+         * @param withTotal 是否统计总数，为 false 时不执行 COUNT 查询，只返回 hasNext
          * @return 申请分页列表
          */
-        PageResponse<SealApplication> getApplications(Pageable pageable);
+        PageResponse<SealApplicationSummary> getApplications(Pageable pageable, boolean withTotal);
+
+        /**
+         * 游标分页获取申请列表（按申请时间倒序，不统计总数）
+         * 
+         * @param keyword    搜索关键字
+         * @param status     申请状态
+         * @param applicant  申请人
+         * @param department 部门
+         * @param startTime  开始时间
+         * @param endTime    结束时间
+         * @param after      上一页返回的游标，为空时读取第一页
+         * @param size       每页大小（1~100）
+         * @return 申请列表及下一页游标
+         * @throws IllegalArgumentException 每页大小超出范围
+         */
+        PageResponse<SealApplicationSummary> getApplicationsByCursor(String keyword,
+                        SealApplication.ApplicationStatus status,
+                        String applicant,
+                        String department,
+                        LocalDateTime startTime,
+                        LocalDateTime endTime,
+                        String after,
+                        int size);
 
         /**
          * 根据条件搜索申请
@@ -73,32 +111,50 @@ public interface SealApplicationService {
          * @param startTime  开始时间
          * @param endTime    结束时间
          * @param pageable   分页参数
+         * @param withTotal  是否统计总数
          * @return 申请分页列表
          */
-        PageResponse<SealApplication> searchApplications(String keyword,
+        PageResponse<SealApplicationSummary> searchApplications(String keyword,
                         SealApplication.ApplicationStatus status,
                         String applicant,
                         String department,
                         LocalDateTime startTime,
                         LocalDateTime endTime,
-                        Pageable pageable);
+                        Pageable pageable,
+                        boolean withTotal);
+
+        /**
+         * 按搜索条件导出申请为 CSV（按申请时间倒序），边从数据库分批读取边写出，内存占用与行数无关
+         * 
+         * @param writer 输出目标，方法返回前会 flush
+         * @return 导出的行数
+         */
+        long exportApplications(String keyword,
+                        SealApplication.ApplicationStatus status,
+                        String applicant,
+                        String department,
+                        LocalDateTime startTime,
+                        LocalDateTime endTime,
+                        Writer writer) throws IOException;
 
         /**
          * 获取我的申请
          * 
          * @param applicant 申请人
          * @param pageable  分页参数
+         * @param withTotal 是否统计总数
          * @return 申请分页列表
          */
-        PageResponse<SealApplication> getMyApplications(String applicant, Pageable pageable);
+        PageResponse<SealApplicationSummary> getMyApplications(String applicant, Pageable pageable, boolean withTotal);
 
         /**
          * 获取待审批申请
          * 
-         * @param pageable 分页参数
+         * @param pageable  分页参数
+         * @param withTotal 是否统计总数
          * @return 待审批申请列表
          */
-        PageResponse<SealApplication> getPendingApplications(Pageable pageable);
+        PageResponse<SealApplicationSummary> getPendingApplications(Pageable pageable, boolean withTotal);
 
         /**
          * 获取已完成申请
@@ -106,34 +162,43 @@ public interface SealApplicationService {
          * @param pageable 分页参数
          * @return 已完成申请列表
          */
-        PageResponse<SealApplication> getCompletedApplications(Pageable pageable);
+        PageResponse<SealApplicationSummary> getCompletedApplications(Pageable pageable);
 
         /**
          * 审批申请
+         * 以一条 UPDATE ... WHERE id = ? AND status = 'PENDING' [AND version = ?] 完成状态流转，
+         * 并发审批时只有一个审批人成功
          * 
          * @param id       申请ID
          * @param status   新状态（APPROVED或REJECTED）
          * @param approver 审批人
          * @param remark   审批备注
+         * @param version  期望的版本号，为 null 时只校验状态
          * @return 更新后的申请
+         * @throws com.example.backend.common.ResourceNotFoundException 申请不存在
+         * @throws org.springframework.dao.OptimisticLockingFailureException 版本号不一致
          */
         SealApplication approveApplication(Long id, SealApplication.ApplicationStatus status,
-                        String approver, String remark);
+                        String approver, String remark, Long version);
 
         /**
-         * 完成申请（用印完成）
+         * 完成申请（用印完成），按状态和版本号条件更新
          * 
-         * @param id 申请ID
+         * @param id      申请ID
+         * @param version 期望的版本号，为 null 时只校验状态
          * @return 更新后的申请
+         * @throws com.example.backend.common.ResourceNotFoundException 申请不存在
+         * @throws org.springframework.dao.OptimisticLockingFailureException 版本号不一致
          */
-        SealApplication completeApplication(Long id);
+        SealApplication completeApplication(Long id, Long version);
 
         /**
-         * 撤回申请
+         * 撤回申请，按申请人、状态和版本号条件删除
          * 
          * @param id        申请ID
          * @param applicant 申请人（验证权限）
          * @return 是否成功
+         * @throws com.example.backend.common.ResourceNotFoundException 申请不存在
          */
         boolean withdrawApplication(Long id, String applicant);
 
@@ -166,6 +231,20 @@ public interface SealApplicationService {
          */
         List<Map<String, Object>> getMonthlyTrend(int months);
 
+        /**
+         * 按任意粒度获取申请趋势（读取日汇总，不扫描申请表）
+         * 
+         * @param granularity 统计粒度
+         * @param from        开始日期（含）
+         * @param to          结束日期（含）
+         * @param department  部门，为空时不过滤
+         * @param sealId      印章ID，为空时不过滤（0 表示未关联印章的申请）
+         * @param status      申请状态，为空时不过滤
+         * @return 各周期的申请数量（没有申请的周期数量为 0）
+         */
+        List<Map<String, Object>> getApplicationTrend(TrendGranularity granularity, LocalDate from, LocalDate to,
+                        String department, Long sealId, SealApplication.ApplicationStatus status);
+
         /**
          * 获取平均处理时间
          * 
@@ -179,18 +258,19 @@ public interface SealApplicationService {
          * @param hours 小时数
          * @return 即将到期的申请列表
          */
-        List<SealApplication> getUpcomingApplications(int hours);
+        List<SealApplicationSummary> getUpcomingApplications(int hours);
 
         /**
          * 批量审批申请
+         * 按批次加锁读取申请的快照字段后用一条条件更新完成状态流转，每批在独立事务中提交，重复的ID只处理一次
          * 
          * @param ids      申请ID列表
-         * @param status   审批状态
+         * @param status   审批状态（APPROVED 或 REJECTED）
          * @param approver 审批人
          * @param remark   审批备注
-         * @return 成功处理的数量
+         * @return 每个申请ID的处理结果
          */
-        int batchApproveApplications(List<Long> ids, SealApplication.ApplicationStatus status,
+        BatchApprovalResult batchApproveApplications(List<Long> ids, SealApplication.ApplicationStatus status,
                         String approver, String remark);
 
         /**
@@ -218,7 +298,7 @@ public interface SealApplicationService {
          * @param size   每页大小
          * @return 待审批申请列表
          */
-        PageResponse<SealApplication> getKeeperPendingApplications(String keeper, int page, int size);
+        PageResponse<SealApplicationSummary> getKeeperPendingApplications(String keeper, int page, int size);
 
         /**
          * 获取审批时长统计
@@ -226,4 +306,21 @@ public interface SealApplicationService {
          * @return 审批时长统计信息
          */
         Map<String, Object> getApprovalDurationStatistics();
-}
\ No newline at end of file
+
+        /**
+         * 把尚未关联印章的某名称申请关联到印章（在调用方事务中执行，逐条发布申请变更事件）
+         * 
+         * @param sealId   印章ID
+         * @param sealName 印章名称
+         * @return 关联的申请数
+         */
+        int linkSeal(Long sealId, String sealName);
+
+        /**
+         * 解除申请与印章的关联（删除印章前在同一事务中调用，逐条发布申请变更事件）
+         * 
+         * @param sealId 印章ID
+         * @return 解除关联的申请数
+         */
+        int unlinkSeal(Long sealId);
+}
@@ -1,6 +1,7 @@
 package com.example.backend.service;
 
 import com.example.backend.common.PageResponse;
+import com.example.backend.dto.SealCreateApplicationSummary;
 import com.example.backend.entity.SealCreateApplication;
 import org.springframework.data.domain.Pageable;
 
@@ -41,12 +42,12 @@ public interface SealCreateApplicationService {
     /**
      * 分页获取申请列表
      */
-    PageResponse<SealCreateApplication> getApplications(Pageable pageable);
+    PageResponse<SealCreateApplicationSummary> getApplications(Pageable pageable);
 
     /**
      * 根据条件搜索申请
      */
-    PageResponse<SealCreateApplication> searchApplications(String keyword,
+    PageResponse<SealCreateApplicationSummary> searchApplications(String keyword,
             SealCreateApplication.ApplicationStatus status,
             String applicant,
             String department,
@@ -57,21 +58,27 @@ public interface SealCreateApplicationService {
     /**
      * 获取我的申请
      */
-    PageResponse<SealCreateApplication> getMyApplications(String applicant, Pageable pageable);
+    PageResponse<SealCreateApplicationSummary> getMyApplications(String applicant, Pageable pageable);
 
     /**
      * 获取待审批申请
      */
-    PageResponse<SealCreateApplication> getPendingApplications(Pageable pageable);
+    PageResponse<SealCreateApplicationSummary> getPendingApplications(Pageable pageable);
 
     /**
-     * 审批申请
+     * 审批申请，按状态（和版本号）条件更新，并发审批时只有一个审批人成功
+     *
+     * @param version 期望的版本号，为 null 时只校验状态
+     * @throws com.example.backend.common.ResourceNotFoundException 申请不存在
+     * @throws org.springframework.dao.OptimisticLockingFailureException 版本号不一致
      */
     SealCreateApplication approveApplication(Long id, SealCreateApplication.ApplicationStatus status,
-            String approver, String remark);
+            String approver, String remark, Long version);
 
     /**
-     * 撤回申请
+     * 撤回申请，按申请人和状态条件删除
+     *
+     * @throws com.example.backend.common.ResourceNotFoundException 申请不存在
      */
     boolean withdrawApplication(Long id, String applicant);
 
@@ -14,8 +14,11 @@ public interface SealService {
 
     /**
      * 分页查询印章列表
+     *
+     * @param withTotal 是否统计总数，为 false 时不执行 COUNT 查询，只返回 hasNext
      */
-    PageResponse<Seal> findSeals(Integer page, Integer size, String keyword, Seal.SealStatus status);
+    PageResponse<Seal> findSeals(Integer page, Integer size, String keyword, Seal.SealStatus status,
+            boolean withTotal);
 
     /**
      * 根据ID查询印章详情
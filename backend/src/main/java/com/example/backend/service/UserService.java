@@ -57,10 +57,11 @@ public interface UserService {
     /**
      * 分页获取用户列表
      * 
-     * @param pageable 分页参数
+     * @param pageable  分页参数
+     * @param withTotal 是否统计总数，为 false 时不执行 COUNT 查询，只返回 hasNext
      * @return 用户分页列表
      */
-    PageResponse<User> getUsers(Pageable pageable);
+    PageResponse<User> getUsers(Pageable pageable, boolean withTotal);
 
     /**
      * 根据条件搜索用户
@@ -68,11 +69,12 @@ public interface UserService {
      * @param keyword  搜索关键字
      * @param status   用户状态
      * @param role     用户角色
-     * @param pageable 分页参数
+     * @param pageable  分页参数
+     * @param withTotal 是否统计总数
      * @return 用户分页列表
      */
     PageResponse<User> searchUsers(String keyword, User.UserStatus status,
-            User.UserRole role, Pageable pageable);
+            User.UserRole role, Pageable pageable, boolean withTotal);
 
     /**
      * 更改用户状态
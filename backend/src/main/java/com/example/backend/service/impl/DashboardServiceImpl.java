@@ -0,0 +1,146 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.service.DashboardService;
+import com.example.backend.service.SealApplicationService;
+import com.example.backend.service.SealService;
+import com.example.backend.service.UserService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 统计仪表盘服务实现类
+ * 各项统计提交到有界线程池并行执行，每项在各自线程中使用独立的只读事务，
+ * 总耗时取决于最慢的一项；单项失败、超时或线程池已满被拒绝时只记录在 errors 中，不影响其他项
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    @Autowired
+    private SealApplicationService applicationService;
+
+    @Autowired
+    private SealService sealService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * 并行线程数：每个线程占用一个数据库连接，应明显小于连接池大小
+     */
+    @Value("${statistics.dashboard.parallelism:4}")
+    private int parallelism;
+
+    @Value("${statistics.dashboard.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // 队列满时拒绝提交，被拒绝的项记录在 errors 中，不占用请求线程执行
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(100), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-statistics-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public Map<String, Object> getDashboard(int months) {
+        long start = System.nanoTime();
+
+        Map<String, Supplier<Object>> sections = new LinkedHashMap<>();
+        sections.put("applicationStatistics", applicationService::getApplicationStatistics);
+        sections.put("departmentStatistics", applicationService::getDepartmentStatistics);
+        sections.put("sealUsageStatistics", applicationService::getSealUsageStatistics);
+        sections.put("monthlyTrend", () -> applicationService.getMonthlyTrend(months));
+        sections.put("approvalDurationStatistics", applicationService::getApprovalDurationStatistics);
+        sections.put("sealStatistics", sealService::getSealStatistics);
+        sections.put("userStatistics", userService::getUserStatistics);
+
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+        Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        sections.forEach((name, section) -> {
+            try {
+                // 通过 submit 提交，超时取消时可中断执行线程
+                futures.put(name, executor.submit(() -> {
+                    long sectionStart = System.nanoTime();
+                    try {
+                        return section.get();
+                    } finally {
+                        timings.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sectionStart));
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                log.warn("仪表盘统计项 {} 被拒绝：统计线程池已满", name);
+                errors.put(name, "统计繁忙，请稍后重试");
+            }
+        });
+
+        // 所有项共用一个截止时间
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Object>> entry : futures.entrySet()) {
+            String name = entry.getKey();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                results.put(name, entry.getValue().get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                errors.put(name, "统计超时");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("仪表盘统计项 {} 执行失败", name, cause);
+                errors.put(name, "统计失败: " + cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().cancel(true);
+                errors.put(name, "统计被中断");
+            }
+        }
+
+        Map<String, Long> orderedTimings = new LinkedHashMap<>();
+        sections.keySet().forEach(name -> {
+            Long elapsed = timings.get(name);
+            if (elapsed != null) {
+                orderedTimings.put(name, elapsed);
+            }
+        });
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("sections", results);
+        dashboard.put("timings", orderedTimings);
+        dashboard.put("errors", errors);
+        dashboard.put("totalMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return dashboard;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.entity.Seal;
+import com.example.backend.entity.SealApplication;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 用印申请 CSV 列定义（导入、导出共用）
+ * 导出时表头为中文列名，枚举写中文名称，时间写 yyyy-MM-dd HH:mm:ss；
+ * 导入时表头可以是字段名（不区分大小写）或中文列名，枚举接受名称或中文名称，因此导出的文件可以直接导入
+ */
+enum SealApplicationCsvColumn {
+    APPLICATION_NO("applicationNo", "申请编号", SealApplication::getApplicationNo, SealApplication::setApplicationNo),
+    SEAL_NAME("sealName", "印章名称", SealApplication::getSealName, SealApplication::setSealName),
+    SEAL_TYPE("sealType", "印章类型", a -> describe(a.getSealType()),
+            (a, v) -> a.setSealType(parseEnum(Seal.SealType.class, v))),
+    SEAL_SHAPE("sealShape", "印章形状", a -> describe(a.getSealShape()),
+            (a, v) -> a.setSealShape(parseEnum(Seal.SealShape.class, v))),
+    SEAL_OWNER_DEPARTMENT("sealOwnerDepartment", "印章所属部门", SealApplication::getSealOwnerDepartment,
+            SealApplication::setSealOwnerDepartment),
+    SEAL_KEEPER_DEPARTMENT("sealKeeperDepartment", "印章保管部门", SealApplication::getSealKeeperDepartment,
+            SealApplication::setSealKeeperDepartment),
+    APPLICANT("applicant", "申请人", SealApplication::getApplicant, SealApplication::setApplicant),
+    DEPARTMENT("department", "申请部门", SealApplication::getDepartment, SealApplication::setDepartment),
+    FILE_NAME("fileName", "文件名称", SealApplication::getFileName, SealApplication::setFileName),
+    ADDRESSEE("addressee", "致何处", SealApplication::getAddressee, SealApplication::setAddressee),
+    COPIES("copies", "份数", SealApplication::getCopies, (a, v) -> a.setCopies(Integer.valueOf(v))),
+    PURPOSE("purpose", "用印目的", SealApplication::getPurpose, SealApplication::setPurpose),
+    EXPECTED_TIME("expectedTime", "期望用印时间", a -> formatTime(a.getExpectedTime()),
+            (a, v) -> a.setExpectedTime(parseDateTime(v))),
+    STATUS("status", "状态", a -> describe(a.getStatus()),
+            (a, v) -> a.setStatus(parseEnum(SealApplication.ApplicationStatus.class, v))),
+    APPROVER("approver", "审批人", SealApplication::getApprover, SealApplication::setApprover),
+    APPROVE_TIME("approveTime", "审批时间", a -> formatTime(a.getApproveTime()),
+            (a, v) -> a.setApproveTime(parseDateTime(v))),
+    APPROVE_REMARK("approveRemark", "审批意见", SealApplication::getApproveRemark,
+            SealApplication::setApproveRemark),
+    APPLY_TIME("applyTime", "申请时间", a -> formatTime(a.getApplyTime()), (a, v) -> a.setApplyTime(parseDateTime(v)));
+
+    private static final DateTimeFormatter EXPORT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 导入时间格式：时间部分可省略到分钟或整体省略，日期分隔符可用 /，日期与时间之间可用 T
+     */
+    private static final DateTimeFormatter IMPORT_FORMAT = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-M-d[ H:mm[:ss]]")
+            .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+            .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+            .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+            .toFormatter();
+
+    /**
+     * 枚举中文名称 → 枚举值
+     */
+    private static final Map<String, Enum<?>> BY_DESCRIPTION = new HashMap<>();
+
+    static {
+        for (Seal.SealType type : Seal.SealType.values()) {
+            BY_DESCRIPTION.put(type.getDescription(), type);
+        }
+        for (Seal.SealShape shape : Seal.SealShape.values()) {
+            BY_DESCRIPTION.put(shape.getDescription(), shape);
+        }
+        for (SealApplication.ApplicationStatus status : SealApplication.ApplicationStatus.values()) {
+            BY_DESCRIPTION.put(status.getDescription(), status);
+        }
+    }
+
+    private final String field;
+    private final String label;
+    private final Function<SealApplication, Object> getter;
+    private final BiConsumer<SealApplication, String> setter;
+
+    SealApplicationCsvColumn(String field, String label, Function<SealApplication, Object> getter,
+            BiConsumer<SealApplication, String> setter) {
+        this.field = field;
+        this.label = label;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * 按表头查找列，不可导入的列返回 null
+     */
+    static SealApplicationCsvColumn of(String header) {
+        String name = header.trim();
+        for (SealApplicationCsvColumn column : values()) {
+            if (column.field.equalsIgnoreCase(name) || column.label.equals(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    /**
+     * 导出值
+     */
+    Object format(SealApplication application) {
+        return getter.apply(application);
+    }
+
+    /**
+     * 导入值
+     *
+     * @throws IllegalArgumentException 枚举或数字无法解析
+     * @throws java.time.format.DateTimeParseException 时间无法解析
+     */
+    void parse(SealApplication application, String value) {
+        setter.accept(application, value);
+    }
+
+    private static String describe(Seal.SealType value) {
+        return value != null ? value.getDescription() : null;
+    }
+
+    private static String describe(Seal.SealShape value) {
+        return value != null ? value.getDescription() : null;
+    }
+
+    private static String describe(SealApplication.ApplicationStatus value) {
+        return value != null ? value.getDescription() : null;
+    }
+
+    private static String formatTime(LocalDateTime value) {
+        return value != null ? value.format(EXPORT_FORMAT) : null;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        Enum<?> byDescription = BY_DESCRIPTION.get(value);
+        if (type.isInstance(byDescription)) {
+            return type.cast(byDescription);
+        }
+        return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        return LocalDateTime.parse(value.replace('/', '-').replace('T', ' '), IMPORT_FORMAT);
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.common.ApplicationNumberGenerator;
+import com.example.backend.common.CsvReader;
+import com.example.backend.common.CsvWriter;
+import com.example.backend.dto.ApplicationImportResult;
+import com.example.backend.entity.Seal;
+import com.example.backend.entity.SealApplication;
+import com.example.backend.event.SealApplicationChangedEvent;
+import com.example.backend.event.SealApplicationSnapshot;
+import com.example.backend.repository.SealApplicationRepository;
+import com.example.backend.repository.SealRepository;
+import com.example.backend.service.SealApplicationImportService;
+import com.example.backend.service.SealApplicationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 用印申请导入服务实现类
+ * 逐条读取 CSV，内存中只保留当前一批待写入的申请；每批在独立事务中用 JDBC 批量插入，
+ * 并为每条申请发布变更事件（统计、索引与逐条创建时一致）；不使用类级事务，避免整个文件处于一个长事务中
+ */
+@Service
+public class SealApplicationImportServiceImpl implements SealApplicationImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SealApplicationImportServiceImpl.class);
+
+    @Autowired
+    private SealApplicationRepository applicationRepository;
+
+    @Autowired
+    private SealRepository sealRepository;
+
+    @Autowired
+    private SealApplicationService applicationService;
+
+    @Autowired
+    private ApplicationNumberGenerator numberGenerator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${application.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${application.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Override
+    public ApplicationImportResult importCsv(Reader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("导入文件为空");
+        }
+        SealApplicationCsvColumn[] columns = new SealApplicationCsvColumn[header.size()];
+        List<String> ignoredColumns = new ArrayList<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns[i] = SealApplicationCsvColumn.of(header.get(i));
+            if (columns[i] == null && !header.get(i).isBlank()) {
+                ignoredColumns.add(header.get(i).trim());
+            }
+        }
+
+        Progress progress = new Progress(ignoredColumns);
+        List<Row> batch = new ArrayList<>(batchSize);
+        Map<String, Long> sealIds = new HashMap<>();
+        long start = System.currentTimeMillis();
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.readRecord();
+            } catch (IllegalArgumentException e) {
+                // 引号未闭合时其后的内容都无法解析，记录错误后结束
+                progress.fail(csv.getRecordLineNumber(), e.getMessage());
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            if (record.stream().allMatch(String::isBlank)) {
+                continue;
+            }
+            int line = csv.getRecordLineNumber();
+            try {
+                batch.add(new Row(line, parse(columns, record)));
+            } catch (IllegalArgumentException e) {
+                progress.fail(line, e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, sealIds, progress);
+                batch.clear();
+                log.info("申请导入进度: 已处理 {} 行，成功 {}，失败 {}", progress.total, progress.success,
+                        progress.failed);
+            }
+        }
+        writeBatch(batch, sealIds, progress);
+        log.info("申请导入完成: 共 {} 行，成功 {}，失败 {}，耗时 {} ms", progress.total, progress.success,
+                progress.failed, System.currentTimeMillis() - start);
+        return progress.toResult();
+    }
+
+    /**
+     * 解析一行并按创建接口的规则校验
+     */
+    private SealApplication parse(SealApplicationCsvColumn[] columns, List<String> record) {
+        SealApplication application = new SealApplication();
+        for (int i = 0; i < record.size() && i < columns.length; i++) {
+            // 导出文件中为防止公式执行加的单引号前缀在此去掉，导出的文件可原样导入
+            String value = CsvWriter.stripFormulaPrefix(record.get(i)).trim();
+            if (columns[i] != null && !value.isEmpty()) {
+                try {
+                    columns[i].parse(application, value);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    throw new IllegalArgumentException(columns[i].getLabel() + "格式错误: " + value);
+                }
+            }
+        }
+        applicationService.validateNewApplication(application);
+
+        if (application.getStatus() == null) {
+            application.setStatus(SealApplication.ApplicationStatus.PENDING);
+        }
+        if (application.getStatus() != SealApplication.ApplicationStatus.PENDING
+                && (application.getApprover() == null || application.getApproveTime() == null)) {
+            throw new IllegalArgumentException("已处理的申请必须填写审批人和审批时间");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (application.getApplyTime() == null) {
+            application.setApplyTime(now);
+        }
+        application.setUpdateTime(now);
+        application.setVersion(0L);
+        return application;
+    }
+
+    /**
+     * 写入一批：整批在一个事务中插入；失败时（如编号并发冲突、字段超长）逐行重试以定位出错的行
+     */
+    private void writeBatch(List<Row> batch, Map<String, Long> sealIds, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            progress.record(transactionTemplate.execute(status -> insert(batch, sealIds)));
+        } catch (DataAccessException e) {
+            log.warn("申请导入批量写入失败，改为逐行写入: {}", e.getMostSpecificCause().getMessage());
+            for (Row row : batch) {
+                try {
+                    progress.record(transactionTemplate.execute(status -> insert(List.of(row), sealIds)));
+                } catch (DataAccessException rowError) {
+                    progress.fail(row.line, "写入失败: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 在当前事务中插入并发布变更事件；申请编号已被使用的行不插入，随结果返回
+     */
+    private BatchOutcome insert(List<Row> rows, Map<String, Long> sealIds) {
+        Set<String> requestedNos = new HashSet<>();
+        for (Row row : rows) {
+            if (row.application.getApplicationNo() != null) {
+                requestedNos.add(row.application.getApplicationNo());
+            }
+        }
+        Set<String> usedNos = requestedNos.isEmpty() ? new HashSet<>()
+                : new HashSet<>(applicationRepository.findExistingApplicationNos(requestedNos));
+
+        List<SealApplication> accepted = new ArrayList<>(rows.size());
+        List<ApplicationImportResult.RowError> rejected = new ArrayList<>();
+        for (Row row : rows) {
+            SealApplication application = row.application;
+            String applicationNo = application.getApplicationNo();
+            if (applicationNo == null) {
+                application.setApplicationNo(numberGenerator.next(ApplicationNumberGenerator.SEAL_APPLICATION_PREFIX,
+                        application.getApplyTime().toLocalDate()));
+            } else if (!usedNos.add(applicationNo)) {
+                rejected.add(new ApplicationImportResult.RowError(row.line, "申请编号已存在: " + applicationNo));
+                continue;
+            }
+            application.setSealId(sealIds.computeIfAbsent(application.getSealName(),
+                    name -> sealRepository.findFirstByNameOrderByIdAsc(name).map(Seal::getId).orElse(null)));
+            accepted.add(application);
+        }
+
+        applicationRepository.insertAll(accepted);
+        for (SealApplication application : accepted) {
+            eventPublisher.publishEvent(new SealApplicationChangedEvent(null, SealApplicationSnapshot.of(application)));
+        }
+        return new BatchOutcome(accepted.size(), rejected);
+    }
+
+    private record Row(int line, SealApplication application) {
+    }
+
+    private record BatchOutcome(int inserted, List<ApplicationImportResult.RowError> rejected) {
+    }
+
+    /**
+     * 导入进度：行数统计和失败明细（超过上限的失败只计数）
+     */
+    private final class Progress {
+        private final List<String> ignoredColumns;
+        private final List<ApplicationImportResult.RowError> errors = new ArrayList<>();
+        private int total;
+        private int success;
+        private int failed;
+
+        private Progress(List<String> ignoredColumns) {
+            this.ignoredColumns = ignoredColumns;
+        }
+
+        private void fail(int line, String message) {
+            total++;
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ApplicationImportResult.RowError(line, message));
+            }
+        }
+
+        private void record(BatchOutcome outcome) {
+            total += outcome.inserted();
+            success += outcome.inserted();
+            outcome.rejected().forEach(error -> fail(error.line(), error.message()));
+        }
+
+        private ApplicationImportResult toResult() {
+            errors.sort((a, b) -> Integer.compare(a.line(), b.line()));
+            return new ApplicationImportResult(total, success, failed, errors, failed > errors.size(),
+                    ignoredColumns);
+        }
+    }
+}
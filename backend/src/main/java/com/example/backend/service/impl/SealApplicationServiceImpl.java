@@ -1,22 +1,59 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.common.ApplicationNumberGenerator;
+import com.example.backend.common.CsvWriter;
+import com.example.backend.common.PageCursor;
 import com.example.backend.common.PageResponse;
+import com.example.backend.common.PageTotalCache;
+import com.example.backend.common.ResourceNotFoundException;
+import com.example.backend.dto.BatchApprovalResult;
+import com.example.backend.dto.SealApplicationSummary;
 import com.example.backend.entity.SealApplication;
+import com.example.backend.event.SealApplicationChangedEvent;
+import com.example.backend.event.SealApplicationSnapshot;
+import com.example.backend.entity.Seal;
 import com.example.backend.repository.SealApplicationRepository;
+import com.example.backend.repository.SealRepository;
+import com.example.backend.repository.specification.SealApplicationSpecifications;
+import com.example.backend.repository.specification.SearchSpecificationBuilder;
+import com.example.backend.search.ApplicationKeywordIndex;
+import com.example.backend.search.PinyinNameIndex;
 import com.example.backend.service.SealApplicationService;
+import com.example.backend.statistics.ApplicationCounters;
+import com.example.backend.statistics.ApplicationDailyRollup;
+import com.example.backend.statistics.ApprovalDurationHistogram;
+import com.example.backend.statistics.TrendGranularity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 用印申请服务实现类
@@ -26,16 +63,106 @@ import java.util.stream.Collectors;
 @Transactional
 public class SealApplicationServiceImpl implements SealApplicationService {
 
+    /**
+     * 趋势统计最多返回的周期数
+     */
+    private static final int MAX_TREND_PERIODS = 1000;
+
+    /**
+     * 游标分页每页最多返回的条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * 批量审批每批处理的申请数（IN 列表长度）
+     */
+    @Value("${application.batch-approve.chunk-size:500}")
+    private int batchApproveChunkSize;
+
     @Autowired
     private SealApplicationRepository applicationRepository;
 
+    @Autowired
+    private SealRepository sealRepository;
+
+    @Autowired
+    private ApplicationKeywordIndex keywordIndex;
+
+    @Autowired
+    private PinyinNameIndex pinyinIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PageTotalCache totalCache;
+
+    @Autowired
+    private ApplicationNumberGenerator numberGenerator;
+
+    @Value("${application.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Autowired
+    private ApplicationCounters counters;
+
+    @Autowired
+    private ApprovalDurationHistogram durationHistogram;
+
+    @Autowired
+    private ApplicationDailyRollup dailyRollup;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Override
     public SealApplication createApplication(SealApplication application) {
         // 设置默认状态
         if (application.getStatus() == null) {
             application.setStatus(SealApplication.ApplicationStatus.PENDING);
         }
-        return applicationRepository.save(application);
+        if (application.getApplicationNo() == null || application.getApplicationNo().isEmpty()) {
+            application.setApplicationNo(numberGenerator.next(ApplicationNumberGenerator.SEAL_APPLICATION_PREFIX));
+        }
+        application.setSealId(resolveSealId(application.getSealName()));
+        SealApplication saved = applicationRepository.save(application);
+        publishChange(null, saved);
+        return saved;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void validateNewApplication(SealApplication application) {
+        if (application.getSealName() == null || application.getSealName().trim().isEmpty()) {
+            throw new IllegalArgumentException("印章名称不能为空");
+        }
+        if (application.getSealType() == null) {
+            throw new IllegalArgumentException("印章类型不能为空");
+        }
+        if (application.getSealShape() == null) {
+            throw new IllegalArgumentException("印章形状不能为空");
+        }
+        if (application.getApplicant() == null || application.getApplicant().trim().isEmpty()) {
+            throw new IllegalArgumentException("申请人不能为空");
+        }
+        if (application.getDepartment() == null || application.getDepartment().trim().isEmpty()) {
+            throw new IllegalArgumentException("申请部门不能为空");
+        }
+        if (application.getFileName() == null || application.getFileName().trim().isEmpty()) {
+            throw new IllegalArgumentException("文件名称不能为空");
+        }
+        if (application.getAddressee() == null || application.getAddressee().trim().isEmpty()) {
+            throw new IllegalArgumentException("致何处不能为空");
+        }
+        if (application.getCopies() == null || application.getCopies() <= 0) {
+            throw new IllegalArgumentException("份数必须大于0");
+        }
+        if (application.getPurpose() == null || application.getPurpose().trim().isEmpty()) {
+            throw new IllegalArgumentException("用印目的不能为空");
+        }
+        if (application.getExpectedTime() == null) {
+            throw new IllegalArgumentException("期望用印时间不能为空");
+        }
     }
 
     @Override
@@ -48,14 +175,19 @@ public class SealApplicationServiceImpl implements SealApplicationService {
             throw new IllegalArgumentException("申请已处理，无法修改");
         }
 
+        SealApplicationSnapshot before = SealApplicationSnapshot.of(existingApplication);
+
         // 更新基本信息
         existingApplication.setSealName(application.getSealName());
+        existingApplication.setSealId(resolveSealId(application.getSealName()));
         existingApplication.setSealType(application.getSealType());
         existingApplication.setPurpose(application.getPurpose());
         existingApplication.setExpectedTime(application.getExpectedTime());
         existingApplication.setDocuments(application.getDocuments());
 
-        return applicationRepository.save(existingApplication);
+        SealApplication saved = applicationRepository.save(existingApplication);
+        publishChange(before, saved);
+        return saved;
     }
 
     @Override
@@ -69,6 +201,7 @@ public class SealApplicationServiceImpl implements SealApplicationService {
         }
 
         applicationRepository.deleteById(id);
+        publishChange(SealApplicationSnapshot.of(application), null);
     }
 
     @Override
@@ -85,111 +218,189 @@ public class SealApplicationServiceImpl implements SealApplicationService {
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealApplication> getApplications(Pageable pageable) {
-        Page<SealApplication> page = applicationRepository.findAll(pageable);
-        return new PageResponse<>(page.getContent(), page.getTotalElements(),
-                page.getNumber(), page.getSize());
+    public PageResponse<SealApplicationSummary> getApplications(Pageable pageable, boolean withTotal) {
+        return findPage(PageTotalCache.key("applications"),
+                SearchSpecificationBuilder.<SealApplication>create().build(), pageable, withTotal);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealApplication> searchApplications(String keyword,
+    public PageResponse<SealApplicationSummary> getApplicationsByCursor(String keyword,
             SealApplication.ApplicationStatus status,
             String applicant,
             String department,
             LocalDateTime startTime,
             LocalDateTime endTime,
-            Pageable pageable) {
-        Page<SealApplication> page = applicationRepository.findByConditions(
-                keyword, status, applicant, department, startTime, endTime, pageable);
-        return new PageResponse<>(page.getContent(), page.getTotalElements(),
-                page.getNumber(), page.getSize());
+            String after,
+            int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("每页大小须在 1 到 " + MAX_CURSOR_PAGE_SIZE + " 之间");
+        }
+        PageCursor cursor = after == null || after.isEmpty() ? null : PageCursor.decode(after);
+        SearchSpecificationBuilder<SealApplication> builder = searchSpecification(
+                keyword, status, applicant, department, startTime, endTime);
+        if (builder == null) {
+            return PageResponse.ofCursor(List.of(), size, null);
+        }
+        Specification<SealApplication> spec = builder
+                .and(SealApplicationSpecifications.after(cursor))
+                .build();
+
+        // 多取一条用于判断是否还有下一页
+        List<SealApplicationSummary> rows = applicationRepository.findSummaries(spec,
+                Sort.by(Sort.Direction.DESC, "applyTime", "id"), size + 1);
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            SealApplicationSummary last = rows.get(size - 1);
+            nextCursor = new PageCursor(last.applyTime(), last.id()).encode();
+        }
+        return PageResponse.ofCursor(rows, size, nextCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealApplication> getMyApplications(String applicant, Pageable pageable) {
-        Page<SealApplication> page = applicationRepository.findByApplicant(applicant, pageable);
-        return new PageResponse<>(page.getContent(), page.getTotalElements(),
-                page.getNumber(), page.getSize());
+    public PageResponse<SealApplicationSummary> searchApplications(String keyword,
+            SealApplication.ApplicationStatus status,
+            String applicant,
+            String department,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            Pageable pageable,
+            boolean withTotal) {
+        SearchSpecificationBuilder<SealApplication> builder = searchSpecification(
+                keyword, status, applicant, department, startTime, endTime);
+        if (builder == null) {
+            return new PageResponse<>(List.of(), 0L, pageable.getPageNumber(), pageable.getPageSize());
+        }
+        String totalKey = PageTotalCache.key("applications", keyword, status, applicant, department,
+                startTime, endTime);
+        return findPage(totalKey, builder.build(), pageable, withTotal);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealApplication> getPendingApplications(Pageable pageable) {
-        Page<SealApplication> page = applicationRepository.findPendingApplications(pageable);
-        return new PageResponse<>(page.getContent(), page.getTotalElements(),
-                page.getNumber(), page.getSize());
+    public long exportApplications(String keyword,
+            SealApplication.ApplicationStatus status,
+            String applicant,
+            String department,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            Writer writer) throws IOException {
+        SealApplicationCsvColumn[] columns = SealApplicationCsvColumn.values();
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeBom();
+        csv.writeRecord(Arrays.stream(columns).map(SealApplicationCsvColumn::getLabel).toArray());
+
+        SearchSpecificationBuilder<SealApplication> builder = searchSpecification(
+                keyword, status, applicant, department, startTime, endTime);
+        long count = 0;
+        if (builder != null) {
+            Object[] values = new Object[columns.length];
+            try (Stream<SealApplication> rows = applicationRepository.streamAll(builder.build(),
+                    Sort.by(Sort.Direction.DESC, "applyTime", "id"), exportFetchSize)) {
+                Iterator<SealApplication> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    SealApplication application = iterator.next();
+                    for (int i = 0; i < columns.length; i++) {
+                        values[i] = columns[i].format(application);
+                    }
+                    csv.writeRecord(values);
+                    count++;
+                }
+            }
+        }
+        csv.flush();
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<SealApplicationSummary> getMyApplications(String applicant, Pageable pageable,
+            boolean withTotal) {
+        Specification<SealApplication> spec = SearchSpecificationBuilder.<SealApplication>create()
+                .equal("applicant", applicant)
+                .build();
+        return findPage(PageTotalCache.key("myApplications", applicant), spec, pageable, withTotal);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealApplication> getCompletedApplications(Pageable pageable) {
-        Page<SealApplication> page = applicationRepository.findByStatus(
-                SealApplication.ApplicationStatus.COMPLETED, pageable);
+    public PageResponse<SealApplicationSummary> getPendingApplications(Pageable pageable, boolean withTotal) {
+        Specification<SealApplication> spec = SearchSpecificationBuilder.<SealApplication>create()
+                .equal("status", SealApplication.ApplicationStatus.PENDING)
+                .build();
+        return findPage(PageTotalCache.key("pendingApplications"), spec, pageable, withTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<SealApplicationSummary> getCompletedApplications(Pageable pageable) {
+        Specification<SealApplication> spec = SearchSpecificationBuilder.<SealApplication>create()
+                .equal("status", SealApplication.ApplicationStatus.COMPLETED)
+                .build();
+        Page<SealApplicationSummary> page = applicationRepository.findSummaryPage(spec, pageable);
         return new PageResponse<>(page.getContent(), page.getTotalElements(),
                 page.getNumber(), page.getSize());
     }
 
     @Override
     public SealApplication approveApplication(Long id, SealApplication.ApplicationStatus status,
-            String approver, String remark) {
-        SealApplication application = applicationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("申请不存在: " + id));
-
-        if (application.getStatus() != SealApplication.ApplicationStatus.PENDING) {
-            throw new IllegalArgumentException("申请已处理，无法重复审批");
-        }
-
+            String approver, String remark, Long version) {
         if (status != SealApplication.ApplicationStatus.APPROVED &&
                 status != SealApplication.ApplicationStatus.REJECTED) {
             throw new IllegalArgumentException("无效的审批状态");
         }
 
-        application.setStatus(status);
-        application.setApprover(approver);
-        application.setApproveTime(LocalDateTime.now());
-        application.setApproveRemark(remark);
+        LocalDateTime approveTime = LocalDateTime.now();
+        int updated = version == null
+                ? applicationRepository.approveIfPending(id, status, approver, remark, approveTime)
+                : applicationRepository.approveIfPendingAndVersion(id, status, approver, remark, approveTime, version);
+        if (updated == 0) {
+            throw transitionFailure(id, SealApplication.ApplicationStatus.PENDING, "申请已处理，无法重复审批");
+        }
 
-        return applicationRepository.save(application);
+        SealApplication saved = findTransitioned(id);
+        SealApplicationSnapshot after = SealApplicationSnapshot.of(saved);
+        eventPublisher.publishEvent(new SealApplicationChangedEvent(
+                after.withStatus(SealApplication.ApplicationStatus.PENDING, null), after));
+        return saved;
     }
 
     @Override
-    public SealApplication completeApplication(Long id) {
-        SealApplication application = applicationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("申请不存在: " + id));
-
-        if (application.getStatus() != SealApplication.ApplicationStatus.APPROVED) {
-            throw new IllegalArgumentException("只有已批准的申请才能完成");
+    public SealApplication completeApplication(Long id, Long version) {
+        LocalDateTime updateTime = LocalDateTime.now();
+        int updated = version == null
+                ? applicationRepository.completeIfApproved(id, updateTime)
+                : applicationRepository.completeIfApprovedAndVersion(id, updateTime, version);
+        if (updated == 0) {
+            throw transitionFailure(id, SealApplication.ApplicationStatus.APPROVED, "只有已批准的申请才能完成");
         }
 
-        application.setStatus(SealApplication.ApplicationStatus.COMPLETED);
-        application.setUpdateTime(LocalDateTime.now());
-
-        return applicationRepository.save(application);
+        SealApplication saved = findTransitioned(id);
+        SealApplicationSnapshot after = SealApplicationSnapshot.of(saved);
+        eventPublisher.publishEvent(new SealApplicationChangedEvent(
+                after.withStatus(SealApplication.ApplicationStatus.APPROVED, saved.getApproveTime()), after));
+        return saved;
     }
 
     @Override
     public boolean withdrawApplication(Long id, String applicant) {
-        try {
-            SealApplication application = applicationRepository.findById(id)
-                    .orElseThrow(() -> new IllegalArgumentException("申请不存在: " + id));
-
-            // 只有申请人可以撤回申请
-            if (!application.getApplicant().equals(applicant)) {
-                throw new IllegalArgumentException("只有申请人可以撤回申请");
-            }
-
-            // 只有待审批状态的申请才能撤回
-            if (application.getStatus() != SealApplication.ApplicationStatus.PENDING) {
-                throw new IllegalArgumentException("申请已处理，无法撤回");
-            }
+        SealApplication application = applicationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("申请不存在: " + id));
 
-            applicationRepository.deleteById(id);
-            return true;
-        } catch (Exception e) {
+        // 只有申请人可以撤回待审批的申请；按读取时的版本号删除，期间被审批或修改则撤回失败
+        if (!application.getApplicant().equals(applicant)
+                || application.getStatus() != SealApplication.ApplicationStatus.PENDING) {
+            return false;
+        }
+        SealApplicationSnapshot before = SealApplicationSnapshot.of(application);
+        if (applicationRepository.deleteIfPending(id, applicant, application.getVersion()) == 0) {
             return false;
         }
+        eventPublisher.publishEvent(new SealApplicationChangedEvent(before, null));
+        return true;
     }
 
     @Override
@@ -197,20 +408,23 @@ public class SealApplicationServiceImpl implements SealApplicationService {
     public Map<String, Object> getApplicationStatistics() {
         Map<String, Object> statistics = new HashMap<>();
 
-        // 总申请数
-        long totalApplications = applicationRepository.count();
-        statistics.put("totalApplications", totalApplications);
-
-        // 按状态统计
-        List<Object[]> statusStats = applicationRepository.countByStatus();
+        // 总申请数、按状态统计（计数器就绪时直接读取内存计数）
         Map<String, Long> statusMap = new HashMap<>();
-        for (Object[] stat : statusStats) {
-            statusMap.put(stat[0].toString(), (Long) stat[1]);
+        long totalApplications;
+        if (counters.isReady()) {
+            counters.countByStatus().forEach((status, count) -> statusMap.put(status.toString(), count));
+            totalApplications = counters.total();
+        } else {
+            for (Object[] stat : applicationRepository.countByStatus()) {
+                statusMap.put(stat[0].toString(), (Long) stat[1]);
+            }
+            totalApplications = applicationRepository.count();
         }
+        statistics.put("totalApplications", totalApplications);
         statistics.put("byStatus", statusMap);
 
         // 平均处理时间
-        Double avgProcessingTime = applicationRepository.getAverageProcessingTime();
+        Double avgProcessingTime = getAverageProcessingTime();
         statistics.put("averageProcessingTime", avgProcessingTime != null ? avgProcessingTime : 0.0);
 
         return statistics;
@@ -219,7 +433,9 @@ public class SealApplicationServiceImpl implements SealApplicationService {
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getDepartmentStatistics() {
-        List<Object[]> deptStats = applicationRepository.countByDepartment();
+        List<Object[]> deptStats = counters.isReady()
+                ? toRows(counters.countByDepartment())
+                : applicationRepository.countByDepartment();
         return deptStats.stream().map(stat -> {
             Map<String, Object> map = new HashMap<>();
             map.put("department", stat[0]);
@@ -231,55 +447,189 @@ public class SealApplicationServiceImpl implements SealApplicationService {
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getSealUsageStatistics() {
-        List<Object[]> sealStats = applicationRepository.countBySealName();
-        return sealStats.stream().map(stat -> {
+        // 按印章ID分组，印章名称取当前印章目录中的名称（印章已删除时用申请中记录的名称）
+        List<Object[]> sealStats;
+        List<Object[]> unlinkedStats;
+        if (counters.isReady()) {
+            sealStats = new ArrayList<>();
+            counters.countBySealId().forEach((sealId, count) -> sealStats.add(
+                    new Object[] { sealId, counters.sealName(sealId), count }));
+            unlinkedStats = toRows(counters.countUnlinkedBySealName());
+        } else {
+            sealStats = applicationRepository.countBySealId();
+            unlinkedStats = applicationRepository.countUnlinkedBySealName();
+        }
+        List<Long> sealIds = sealStats.stream().map(stat -> (Long) stat[0]).collect(Collectors.toList());
+        Map<Long, String> sealNames = sealRepository.findAllById(sealIds).stream()
+                .collect(Collectors.toMap(Seal::getId, Seal::getName));
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] stat : sealStats) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("sealId", stat[0]);
+            map.put("sealName", sealNames.getOrDefault((Long) stat[0], (String) stat[1]));
+            map.put("usageCount", stat[2]);
+            result.add(map);
+        }
+        // 未能关联到印章的申请仍按名称统计
+        for (Object[] stat : unlinkedStats) {
             Map<String, Object> map = new HashMap<>();
             map.put("sealName", stat[0]);
             map.put("usageCount", stat[1]);
-            return map;
-        }).collect(Collectors.toList());
+            result.add(map);
+        }
+        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getMonthlyTrend(int months) {
-        LocalDateTime startTime = LocalDateTime.now().minusMonths(months);
-        List<Object[]> trendStats = applicationRepository.getMonthlyTrend(startTime);
-        return trendStats.stream().map(stat -> {
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Long> trendStats = dailyRollup.periodCounts(TrendGranularity.MONTH,
+                today.minusMonths(months), today, null, null, null);
+        return trendStats.entrySet().stream().map(stat -> {
             Map<String, Object> map = new HashMap<>();
-            map.put("month", stat[0]);
-            map.put("count", stat[1]);
+            map.put("month", TrendGranularity.MONTH.label(stat.getKey()));
+            map.put("count", stat.getValue());
             return map;
         }).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getApplicationTrend(TrendGranularity granularity, LocalDate from,
+            LocalDate to, String department, Long sealId, SealApplication.ApplicationStatus status) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("开始日期不能晚于结束日期");
+        }
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate period = granularity.periodStart(from); !period.isAfter(to);
+                period = granularity.nextPeriod(period)) {
+            if (periods.size() >= MAX_TREND_PERIODS) {
+                throw new IllegalArgumentException("统计周期数不能超过 " + MAX_TREND_PERIODS + "，请缩小时间范围或增大粒度");
+            }
+            periods.add(period);
+        }
+        Map<LocalDate, Long> counts = dailyRollup.periodCounts(granularity, from, to,
+                department != null && !department.isBlank() ? department : null, sealId, status);
+
+        // 补齐没有申请的周期，便于前端直接绘图
+        List<Map<String, Object>> trend = new ArrayList<>(periods.size());
+        for (LocalDate period : periods) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("period", granularity.label(period));
+            map.put("startDate", period);
+            map.put("count", counts.getOrDefault(period, 0L));
+            trend.add(map);
+        }
+        return trend;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Double getAverageProcessingTime() {
-        return applicationRepository.getAverageProcessingTime();
+        return durationHistogram.isReady()
+                ? durationHistogram.averageHours()
+                : applicationRepository.getAverageProcessingTime();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<SealApplication> getUpcomingApplications(int hours) {
+    public List<SealApplicationSummary> getUpcomingApplications(int hours) {
         LocalDateTime deadline = LocalDateTime.now().plusHours(hours);
-        return applicationRepository.findUpcomingApplications(deadline);
+        Specification<SealApplication> spec = SearchSpecificationBuilder.<SealApplication>create()
+                .equal("status", SealApplication.ApplicationStatus.APPROVED)
+                .lessThanOrEqual("expectedTime", deadline)
+                .build();
+        return applicationRepository.findSummaries(spec, Sort.by(Sort.Direction.ASC, "expectedTime"), 0);
     }
 
     @Override
-    public int batchApproveApplications(List<Long> ids, SealApplication.ApplicationStatus status,
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchApprovalResult batchApproveApplications(List<Long> ids, SealApplication.ApplicationStatus status,
             String approver, String remark) {
-        int count = 0;
-        for (Long id : ids) {
-            try {
-                approveApplication(id, status, approver, remark);
-                count++;
-            } catch (Exception e) {
-                // 忽略错误，继续处理下一个
-                System.err.println("批量审批失败: " + id + " - " + e.getMessage());
+        if (status != SealApplication.ApplicationStatus.APPROVED &&
+                status != SealApplication.ApplicationStatus.REJECTED) {
+            throw new IllegalArgumentException("无效的审批状态");
+        }
+
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, BatchApprovalResult.Outcome> outcomes = new HashMap<>();
+        LocalDateTime approveTime = LocalDateTime.now();
+
+        // 每批在独立事务中提交，行锁只持有到本批结束
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < distinctIds.size(); from += batchApproveChunkSize) {
+            List<Long> chunk = distinctIds.subList(from,
+                    Math.min(from + batchApproveChunkSize, distinctIds.size()));
+            transactionTemplate.executeWithoutResult(
+                    tx -> approveChunk(chunk, status, approver, remark, approveTime, outcomes));
+        }
+
+        List<BatchApprovalResult.Item> results = distinctIds.stream()
+                .map(id -> BatchApprovalResult.Item.of(id, outcomes.get(id)))
+                .collect(Collectors.toList());
+        return BatchApprovalResult.of(results);
+    }
+
+    /**
+     * 审批一批申请：锁定本批申请的快照字段，按状态区分结果后用一条条件更新完成待审批申请的状态流转
+     */
+    private void approveChunk(List<Long> chunk, SealApplication.ApplicationStatus status, String approver,
+            String remark, LocalDateTime approveTime, Map<Long, BatchApprovalResult.Outcome> outcomes) {
+        List<SealApplicationSnapshot> pending = new ArrayList<>();
+        for (Object[] row : applicationRepository.findStatesForUpdate(chunk)) {
+            SealApplicationSnapshot before = SealApplicationSnapshot.ofState(row);
+            if (before.getStatus() == SealApplication.ApplicationStatus.PENDING) {
+                pending.add(before);
+            } else {
+                outcomes.put(before.getId(), BatchApprovalResult.Outcome.NOT_PENDING);
             }
         }
-        return count;
+        if (!pending.isEmpty()) {
+            List<Long> pendingIds = pending.stream().map(SealApplicationSnapshot::getId)
+                    .collect(Collectors.toList());
+            applicationRepository.approvePending(pendingIds, status, approver, remark, approveTime);
+            for (SealApplicationSnapshot before : pending) {
+                outcomes.put(before.getId(), BatchApprovalResult.Outcome.SUCCESS);
+                eventPublisher.publishEvent(
+                        new SealApplicationChangedEvent(before, before.withStatus(status, approveTime)));
+            }
+        }
+        // 锁定查询未返回的ID不存在
+        for (Long id : chunk) {
+            outcomes.putIfAbsent(id, BatchApprovalResult.Outcome.NOT_FOUND);
+        }
+    }
+
+    @Override
+    public int linkSeal(Long sealId, String sealName) {
+        return updateSealId(applicationRepository.findUnlinkedStatesForUpdate(sealName), sealId);
+    }
+
+    @Override
+    public int unlinkSeal(Long sealId) {
+        return updateSealId(applicationRepository.findLinkedStatesForUpdate(sealId), null);
+    }
+
+    /**
+     * 修改一批已锁定申请的关联印章（版本号随之加一），并逐条发布变更事件，
+     * 使计数器、日汇总等按印章统计的结构随之迁移
+     *
+     * @param rows 加锁查询得到的快照字段
+     */
+    private int updateSealId(List<Object[]> rows, Long sealId) {
+        List<SealApplicationSnapshot> before = rows.stream().map(SealApplicationSnapshot::ofState)
+                .collect(Collectors.toList());
+        for (int from = 0; from < before.size(); from += batchApproveChunkSize) {
+            List<Long> chunk = before.subList(from, Math.min(from + batchApproveChunkSize, before.size())).stream()
+                    .map(SealApplicationSnapshot::getId).collect(Collectors.toList());
+            applicationRepository.updateSealId(chunk, sealId);
+        }
+        for (SealApplicationSnapshot snapshot : before) {
+            eventPublisher.publishEvent(new SealApplicationChangedEvent(snapshot, snapshot.withSealId(sealId)));
+        }
+        return before.size();
     }
 
     @Override
@@ -309,9 +659,10 @@ public class SealApplicationServiceImpl implements SealApplicationService {
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealApplication> getKeeperPendingApplications(String keeper, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<SealApplication> applications = applicationRepository.findKeeperPendingApplications(keeper, pageable);
+    public PageResponse<SealApplicationSummary> getKeeperPendingApplications(String keeper, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "applyTime"));
+        Page<SealApplicationSummary> applications = applicationRepository.findSummaryPage(
+                SealApplicationSpecifications.keeperPending(keeper), pageable);
         return new PageResponse<>(applications.getContent(), applications.getTotalElements(),
                 applications.getNumber(), applications.getSize());
     }
@@ -322,8 +673,11 @@ public class SealApplicationServiceImpl implements SealApplicationService {
         Map<String, Object> statistics = new HashMap<>();
 
         try {
-            // 获取平均审批时长（小时）
-            Double averageHours = applicationRepository.getAverageProcessingTime();
+            // 获取平均审批时长（小时），直方图就绪时直接读取内存统计
+            boolean fromHistogram = durationHistogram.isReady();
+            Double averageHours = fromHistogram
+                    ? durationHistogram.averageHours()
+                    : applicationRepository.getAverageProcessingTime();
             statistics.put("averageHours", averageHours != null ? averageHours : 0.0);
 
             // 转换为更友好的显示格式
@@ -352,53 +706,57 @@ public class SealApplicationServiceImpl implements SealApplicationService {
             }
 
             // 统计不同时长范围的申请数量
-            List<Object[]> durationRanges = applicationRepository.getApprovalDurationRanges();
-            Map<String, Integer> rangeStats = new HashMap<>();
-            rangeStats.put("within1Hour", 0); // 1小时内
-            rangeStats.put("within1Day", 0); // 1天内
-            rangeStats.put("within3Days", 0); // 3天内
-            rangeStats.put("within7Days", 0); // 7天内
-            rangeStats.put("moreThan7Days", 0); // 超过7天
-
-            for (Object[] range : durationRanges) {
-                Double hours = (Double) range[0];
-                Long count = (Long) range[1];
-
-                if (hours <= 1) {
-                    rangeStats.put("within1Hour", rangeStats.get("within1Hour") + count.intValue());
-                } else if (hours <= 24) {
-                    rangeStats.put("within1Day", rangeStats.get("within1Day") + count.intValue());
-                } else if (hours <= 72) {
-                    rangeStats.put("within3Days", rangeStats.get("within3Days") + count.intValue());
-                } else if (hours <= 168) {
-                    rangeStats.put("within7Days", rangeStats.get("within7Days") + count.intValue());
-                } else {
-                    rangeStats.put("moreThan7Days", rangeStats.get("moreThan7Days") + count.intValue());
+            Map<String, Long> rangeStats = new HashMap<>();
+            for (String range : ApprovalDurationHistogram.RANGE_NAMES) {
+                rangeStats.put(range, 0L);
+            }
+            if (fromHistogram) {
+                long[] counts = durationHistogram.rangeCounts();
+                for (int i = 0; i < counts.length; i++) {
+                    rangeStats.put(ApprovalDurationHistogram.RANGE_NAMES[i], counts[i]);
+                }
+            } else {
+                for (Object[] range : applicationRepository.getApprovalDurationRanges()) {
+                    Number hours = (Number) range[0];
+                    Long count = (Long) range[1];
+
+                    if (hours.longValue() <= 1) {
+                        rangeStats.merge("within1Hour", count, Long::sum);
+                    } else if (hours.longValue() <= 24) {
+                        rangeStats.merge("within1Day", count, Long::sum);
+                    } else if (hours.longValue() <= 72) {
+                        rangeStats.merge("within3Days", count, Long::sum);
+                    } else if (hours.longValue() <= 168) {
+                        rangeStats.merge("within7Days", count, Long::sum);
+                    } else {
+                        rangeStats.merge("moreThan7Days", count, Long::sum);
+                    }
                 }
             }
 
             statistics.put("durationRanges", rangeStats);
 
             // 获取最快和最慢的审批记录
-            Optional<SealApplication> fastest = applicationRepository.findFastestApprovedApplication();
-            Optional<SealApplication> slowest = applicationRepository.findSlowestApprovedApplication();
-
-            if (fastest.isPresent()) {
-                SealApplication app = fastest.get();
-                long fastestMinutes = java.time.Duration.between(app.getApplyTime(), app.getApproveTime()).toMinutes();
-                statistics.put("fastestApproval", Map.of(
-                        "applicationNo", app.getApplicationNo(),
-                        "minutes", fastestMinutes,
-                        "text", formatDuration(fastestMinutes)));
-            }
-
-            if (slowest.isPresent()) {
-                SealApplication app = slowest.get();
-                long slowestMinutes = java.time.Duration.between(app.getApplyTime(), app.getApproveTime()).toMinutes();
-                statistics.put("slowestApproval", Map.of(
-                        "applicationNo", app.getApplicationNo(),
-                        "minutes", slowestMinutes,
-                        "text", formatDuration(slowestMinutes)));
+            if (fromHistogram) {
+                putExtreme(statistics, "fastestApproval", durationHistogram.fastest());
+                putExtreme(statistics, "slowestApproval", durationHistogram.slowest());
+
+                // 审批时长百分位（直方图桶上界，误差不超过 12.5%）
+                Map<String, Object> percentiles = new HashMap<>();
+                putPercentile(percentiles, "p50", durationHistogram.percentileMinutes(50));
+                putPercentile(percentiles, "p95", durationHistogram.percentileMinutes(95));
+                putPercentile(percentiles, "p99", durationHistogram.percentileMinutes(99));
+                statistics.put("percentiles", percentiles);
+            } else {
+                Optional<SealApplication> fastest = applicationRepository.findFastestApprovedApplication();
+                Optional<SealApplication> slowest = applicationRepository.findSlowestApprovedApplication();
+
+                fastest.ifPresent(app -> putExtreme(statistics, "fastestApproval",
+                        new ApprovalDurationHistogram.Extreme(app.getId(), app.getApplicationNo(),
+                                java.time.Duration.between(app.getApplyTime(), app.getApproveTime()).toMinutes())));
+                slowest.ifPresent(app -> putExtreme(statistics, "slowestApproval",
+                        new ApprovalDurationHistogram.Extreme(app.getId(), app.getApplicationNo(),
+                                java.time.Duration.between(app.getApplyTime(), app.getApproveTime()).toMinutes())));
             }
 
         } catch (Exception e) {
@@ -411,6 +769,103 @@ public class SealApplicationServiceImpl implements SealApplicationService {
         return statistics;
     }
 
+    private void putExtreme(Map<String, Object> statistics, String key, ApprovalDurationHistogram.Extreme extreme) {
+        if (extreme != null) {
+            statistics.put(key, Map.of(
+                    "applicationNo", extreme.applicationNo(),
+                    "minutes", extreme.minutes(),
+                    "text", formatDuration(extreme.minutes())));
+        }
+    }
+
+    private void putPercentile(Map<String, Object> percentiles, String key, Long minutes) {
+        if (minutes != null) {
+            percentiles.put(key, Map.of("minutes", minutes, "text", formatDuration(minutes)));
+        }
+    }
+
+    /**
+     * 条件更新未命中时区分原因：申请不存在、状态不符或版本号不一致
+     */
+    private RuntimeException transitionFailure(Long id, SealApplication.ApplicationStatus expectedStatus,
+            String statusMessage) {
+        SealApplication current = applicationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("申请不存在: " + id));
+        if (current.getStatus() != expectedStatus) {
+            return new IllegalArgumentException(statusMessage);
+        }
+        return new OptimisticLockingFailureException("申请已被他人修改，请刷新后重试");
+    }
+
+    private SealApplication findTransitioned(Long id) {
+        return applicationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("申请不存在: " + id));
+    }
+
+    /**
+     * 内存计数转换为与 GROUP BY 查询相同的 [分组, 数量] 行
+     */
+    private static <K> List<Object[]> toRows(Map<K, Long> counts) {
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(new Object[] { key, count }));
+        return rows;
+    }
+
+    /**
+     * 按印章名称解析关联的印章ID，找不到时为 null
+     */
+    private Long resolveSealId(String sealName) {
+        if (sealName == null) {
+            return null;
+        }
+        return sealRepository.findFirstByNameOrderByIdAsc(sealName).map(Seal::getId).orElse(null);
+    }
+
+    /**
+     * 分页查询；不需要总数时按 Slice 读取（多取一行判断是否有下一页），省去 COUNT 查询
+     *
+     * @param totalKey  总数缓存键，精确统计的结果会缓存下来供 Slice 分页附带
+     * @param withTotal 是否统计总数
+     */
+    private PageResponse<SealApplicationSummary> findPage(String totalKey, Specification<SealApplication> spec,
+            Pageable pageable, boolean withTotal) {
+        if (withTotal) {
+            Page<SealApplicationSummary> page = applicationRepository.findSummaryPage(spec, pageable);
+            totalCache.put(totalKey, page.getTotalElements());
+            return new PageResponse<>(page.getContent(), page.getTotalElements(),
+                    page.getNumber(), page.getSize());
+        }
+        Slice<SealApplicationSummary> slice = applicationRepository.findSummarySlice(spec, pageable);
+        return PageResponse.ofSlice(slice, totalCache.get(totalKey));
+    }
+
+    /**
+     * 构建搜索条件，关键字先通过内存倒排索引缩小到候选ID，并按拼音匹配申请人
+     *
+     * @return 查询条件；关键字在索引中没有任何候选时返回 null，无需查询数据库
+     */
+    private SearchSpecificationBuilder<SealApplication> searchSpecification(String keyword,
+            SealApplication.ApplicationStatus status,
+            String applicant,
+            String department,
+            LocalDateTime startTime,
+            LocalDateTime endTime) {
+        Set<Long> candidates = keywordIndex.findCandidates(keyword);
+        Set<String> pinyinApplicants = pinyinIndex.findNames(PinyinNameIndex.NameField.APPLICANT, keyword);
+        if (candidates != null && candidates.isEmpty() && pinyinApplicants.isEmpty()) {
+            return null;
+        }
+        return SealApplicationSpecifications.search(keyword, candidates, pinyinApplicants,
+                status, applicant, department, startTime, endTime);
+    }
+
+    /**
+     * 发布申请变更事件，由监听方在事务提交后处理
+     */
+    private void publishChange(SealApplicationSnapshot before, SealApplication after) {
+        eventPublisher.publishEvent(new SealApplicationChangedEvent(before, SealApplicationSnapshot.of(after)));
+    }
+
     /**
      * 格式化时长显示
      */
@@ -1,14 +1,21 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.common.ApplicationNumberGenerator;
 import com.example.backend.common.PageResponse;
+import com.example.backend.common.ResourceNotFoundException;
+import com.example.backend.dto.SealCreateApplicationSummary;
 import com.example.backend.entity.Seal;
 import com.example.backend.entity.SealCreateApplication;
 import com.example.backend.repository.SealCreateApplicationRepository;
+import com.example.backend.repository.specification.SealCreateApplicationSpecifications;
+import com.example.backend.repository.specification.SearchSpecificationBuilder;
 import com.example.backend.service.SealCreateApplicationService;
 import com.example.backend.service.SealService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,12 +38,19 @@ public class SealCreateApplicationServiceImpl implements SealCreateApplicationSe
     @Autowired
     private SealService sealService;
 
+    @Autowired
+    private ApplicationNumberGenerator numberGenerator;
+
     @Override
     public SealCreateApplication createApplication(SealCreateApplication application) {
         // 设置默认状态
         if (application.getStatus() == null) {
             application.setStatus(SealCreateApplication.ApplicationStatus.PENDING);
         }
+        if (application.getApplicationNo() == null || application.getApplicationNo().isEmpty()) {
+            application.setApplicationNo(
+                    numberGenerator.next(ApplicationNumberGenerator.SEAL_CREATE_APPLICATION_PREFIX));
+        }
         return applicationRepository.save(application);
     }
 
@@ -89,62 +103,75 @@ public class SealCreateApplicationServiceImpl implements SealCreateApplicationSe
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealCreateApplication> getApplications(Pageable pageable) {
-        Page<SealCreateApplication> page = applicationRepository.findAll(pageable);
+    public PageResponse<SealCreateApplicationSummary> getApplications(Pageable pageable) {
+        Page<SealCreateApplicationSummary> page = applicationRepository.findSummaryPage(null, pageable);
         return new PageResponse<>(page.getContent(), page.getTotalElements(),
                 page.getNumber(), page.getSize());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealCreateApplication> searchApplications(String keyword,
+    public PageResponse<SealCreateApplicationSummary> searchApplications(String keyword,
             SealCreateApplication.ApplicationStatus status,
             String applicant,
             String department,
             LocalDateTime startTime,
             LocalDateTime endTime,
             Pageable pageable) {
-        Page<SealCreateApplication> page = applicationRepository.findByConditions(
-                keyword, status, applicant, department, startTime, endTime, pageable);
+        Specification<SealCreateApplication> spec = SealCreateApplicationSpecifications
+                .search(keyword, status, applicant, department, startTime, endTime)
+                .build();
+        Page<SealCreateApplicationSummary> page = applicationRepository.findSummaryPage(spec, pageable);
         return new PageResponse<>(page.getContent(), page.getTotalElements(),
                 page.getNumber(), page.getSize());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealCreateApplication> getMyApplications(String applicant, Pageable pageable) {
-        Page<SealCreateApplication> page = applicationRepository.findByApplicant(applicant, pageable);
+    public PageResponse<SealCreateApplicationSummary> getMyApplications(String applicant, Pageable pageable) {
+        Specification<SealCreateApplication> spec = SearchSpecificationBuilder.<SealCreateApplication>create()
+                .equal("applicant", applicant)
+                .build();
+        Page<SealCreateApplicationSummary> page = applicationRepository.findSummaryPage(spec, pageable);
         return new PageResponse<>(page.getContent(), page.getTotalElements(),
                 page.getNumber(), page.getSize());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<SealCreateApplication> getPendingApplications(Pageable pageable) {
-        Page<SealCreateApplication> page = applicationRepository.findPendingApplications(pageable);
+    public PageResponse<SealCreateApplicationSummary> getPendingApplications(Pageable pageable) {
+        Specification<SealCreateApplication> spec = SearchSpecificationBuilder.<SealCreateApplication>create()
+                .equal("status", SealCreateApplication.ApplicationStatus.PENDING)
+                .build();
+        Page<SealCreateApplicationSummary> page = applicationRepository.findSummaryPage(spec, pageable);
         return new PageResponse<>(page.getContent(), page.getTotalElements(),
                 page.getNumber(), page.getSize());
     }
 
     @Override
     public SealCreateApplication approveApplication(Long id, SealCreateApplication.ApplicationStatus status,
-            String approver, String remark) {
-        SealCreateApplication application = applicationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("申请不存在: " + id));
-
-        if (application.getStatus() != SealCreateApplication.ApplicationStatus.PENDING) {
-            throw new IllegalArgumentException("申请已处理，无法重复审批");
-        }
-
+            String approver, String remark, Long version) {
         if (status != SealCreateApplication.ApplicationStatus.APPROVED &&
                 status != SealCreateApplication.ApplicationStatus.REJECTED) {
             throw new IllegalArgumentException("无效的审批状态");
         }
 
-        application.setStatus(status);
-        application.setApprover(approver);
-        application.setApproveTime(LocalDateTime.now());
-        application.setApproveRemark(remark);
+        // 按状态条件更新，并发审批时只有一个审批人能命中，避免重复创建印章
+        LocalDateTime approveTime = LocalDateTime.now();
+        int updated = version == null
+                ? applicationRepository.approveIfPending(id, status, approver, remark, approveTime)
+                : applicationRepository.approveIfPendingAndVersion(id, status, approver, remark, approveTime, version);
+        if (updated == 0) {
+            SealCreateApplication current = applicationRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("申请不存在: " + id));
+            if (current.getStatus() != SealCreateApplication.ApplicationStatus.PENDING) {
+                throw new IllegalArgumentException("申请已处理，无法重复审批");
+            }
+            throw new OptimisticLockingFailureException("申请已被他人修改，请刷新后重试");
+        }
+
+        SealCreateApplication application = applicationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("申请不存在: " + id));
 
         // 如果审批通过，创建实际的印章
         if (status == SealCreateApplication.ApplicationStatus.APPROVED) {
@@ -161,30 +188,19 @@ public class SealCreateApplicationServiceImpl implements SealCreateApplicationSe
             sealService.createSeal(seal);
         }
 
-        return applicationRepository.save(application);
+        return application;
     }
 
     @Override
     public boolean withdrawApplication(Long id, String applicant) {
-        try {
-            SealCreateApplication application = applicationRepository.findById(id)
-                    .orElseThrow(() -> new IllegalArgumentException("申请不存在: " + id));
-
-            // 只有申请人可以撤回申请
-            if (!application.getApplicant().equals(applicant)) {
-                throw new IllegalArgumentException("只有申请人可以撤回申请");
-            }
-
-            // 只有待审批状态的申请才能撤回
-            if (application.getStatus() != SealCreateApplication.ApplicationStatus.PENDING) {
-                throw new IllegalArgumentException("申请已处理，无法撤回");
-            }
-
-            applicationRepository.deleteById(id);
+        // 只有申请人可以撤回待审批的申请，条件删除一条语句完成校验和删除
+        if (applicationRepository.deleteIfPending(id, applicant) > 0) {
             return true;
-        } catch (Exception e) {
-            return false;
         }
+        if (!applicationRepository.existsById(id)) {
+            throw new ResourceNotFoundException("申请不存在: " + id);
+        }
+        return false;
     }
 
     @Override
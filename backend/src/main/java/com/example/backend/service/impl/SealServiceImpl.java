@@ -1,14 +1,26 @@
 package com.example.backend.service.impl;
 
 import com.example.backend.common.PageResponse;
+import com.example.backend.common.PageTotalCache;
+import com.example.backend.config.CacheConfig;
 import com.example.backend.entity.Seal;
 import com.example.backend.repository.SealRepository;
+import com.example.backend.repository.specification.SealSpecifications;
+import com.example.backend.repository.specification.SearchSpecificationBuilder;
+import com.example.backend.search.PinyinNameIndex;
+import com.example.backend.service.SealApplicationService;
 import com.example.backend.service.SealService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,22 +39,45 @@ public class SealServiceImpl implements SealService {
     @Autowired
     private SealRepository sealRepository;
 
+    @Autowired
+    private PinyinNameIndex pinyinIndex;
+
+    @Autowired
+    private PageTotalCache totalCache;
+
+    @Autowired
+    private SealApplicationService applicationService;
+
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<Seal> findSeals(Integer page, Integer size, String keyword, Seal.SealStatus status) {
+    public PageResponse<Seal> findSeals(Integer page, Integer size, String keyword, Seal.SealStatus status,
+            boolean withTotal) {
         // 创建分页参数，按更新时间倒序排列
         Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "updateTime"));
 
         // 根据条件查询
-        Page<Seal> sealPage;
+        Specification<Seal> spec;
         if (keyword != null && !keyword.trim().isEmpty()) {
-            sealPage = sealRepository.findByKeywordAndStatus(keyword.trim(), status, pageable);
-        } else if (status != null) {
-            sealPage = sealRepository.findByStatus(status, pageable);
+            // 关键字同时按拼音/首字母匹配印章名称和保管人
+            spec = SealSpecifications.search(keyword,
+                    pinyinIndex.findNames(PinyinNameIndex.NameField.SEAL_NAME, keyword),
+                    pinyinIndex.findNames(PinyinNameIndex.NameField.SEAL_KEEPER, keyword),
+                    status).build();
         } else {
-            sealPage = sealRepository.findAll(pageable);
+            spec = SearchSpecificationBuilder.<Seal>create().equal("status", status).build();
         }
 
+        String totalKey = PageTotalCache.key("seals", keyword, status);
+        if (!withTotal) {
+            // 不统计总数，多取一行判断是否有下一页
+            Slice<Seal> slice = sealRepository.findBy(spec, query -> query.slice(pageable));
+            PageResponse<Seal> response = PageResponse.ofSlice(slice, totalCache.get(totalKey));
+            response.setPage(page);
+            return response;
+        }
+
+        Page<Seal> sealPage = sealRepository.findAll(spec, pageable);
+        totalCache.put(totalKey, sealPage.getTotalElements());
         return new PageResponse<>(
                 sealPage.getContent(),
                 sealPage.getTotalElements(),
@@ -52,20 +87,29 @@ public class SealServiceImpl implements SealService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SEALS, key = "#id")
     public Optional<Seal> findById(Long id) {
         return sealRepository.findById(id);
     }
 
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.SEALS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.SEALS_BY_KEEPER, allEntries = true))
     public Seal createSeal(Seal seal) {
         // 设置默认状态
         if (seal.getStatus() == null) {
             seal.setStatus(Seal.SealStatus.IN_USE);
         }
-        return sealRepository.save(seal);
+        Seal saved = sealRepository.save(seal);
+        registerPinyin(saved);
+        // 此前按该名称提交的申请关联到新印章
+        applicationService.linkSeal(saved.getId(), saved.getName());
+        return saved;
     }
 
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.SEALS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.SEALS_BY_KEEPER, allEntries = true))
     public Seal updateSeal(Long id, Seal seal) {
         Optional<Seal> existingSealOpt = sealRepository.findById(id);
         if (existingSealOpt.isEmpty()) {
@@ -97,18 +141,28 @@ public class SealServiceImpl implements SealService {
             existingSeal.setImageUrl(seal.getImageUrl());
         }
 
-        return sealRepository.save(existingSeal);
+        Seal saved = sealRepository.save(existingSeal);
+        registerPinyin(saved);
+        return saved;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SEALS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SEALS_BY_KEEPER, allEntries = true)
+    })
     public void deleteSeal(Long id) {
         if (!sealRepository.existsById(id)) {
             throw new RuntimeException("印章不存在，ID: " + id);
         }
+        // 关联该印章的申请解除关联
+        applicationService.unlinkSeal(id);
         sealRepository.deleteById(id);
     }
 
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.SEALS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.SEALS_BY_KEEPER, allEntries = true))
     public Seal updateSealStatus(Long id, Seal.SealStatus status) {
         Optional<Seal> sealOpt = sealRepository.findById(id);
         if (sealOpt.isEmpty()) {
@@ -122,6 +176,7 @@ public class SealServiceImpl implements SealService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SEALS_BY_KEEPER, key = "#keeper")
     public List<Seal> findByKeeper(String keeper) {
         return sealRepository.findByKeeper(keeper);
     }
@@ -170,6 +225,14 @@ public class SealServiceImpl implements SealService {
         return sealRepository.findByNameContainingIgnoreCase(name, PageRequest.of(0, 1)).hasContent();
     }
 
+    /**
+     * 登记印章名称和保管人的拼音
+     */
+    private void registerPinyin(Seal seal) {
+        pinyinIndex.register(PinyinNameIndex.NameField.SEAL_NAME, seal.getName());
+        pinyinIndex.register(PinyinNameIndex.NameField.SEAL_KEEPER, seal.getKeeper());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean existsByNameAndIdNot(String name, Long id) {
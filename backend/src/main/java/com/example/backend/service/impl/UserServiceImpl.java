@@ -1,12 +1,18 @@
 package com.example.backend.service.impl;
 
 import com.example.backend.common.PageResponse;
+import com.example.backend.common.PageTotalCache;
 import com.example.backend.entity.User;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.repository.specification.SearchSpecificationBuilder;
+import com.example.backend.repository.specification.UserSpecifications;
+import com.example.backend.search.PinyinNameIndex;
 import com.example.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +33,12 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PinyinNameIndex pinyinIndex;
+
+    @Autowired
+    private PageTotalCache totalCache;
+
     @Override
     public User createUser(User user) {
         // 检查用户名是否已存在
@@ -49,7 +61,9 @@ public class UserServiceImpl implements UserService {
             user.setPassword(encodePassword(user.getPassword()));
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        pinyinIndex.register(PinyinNameIndex.NameField.USER_REAL_NAME, saved.getRealName());
+        return saved;
     }
 
     @Override
@@ -74,7 +88,9 @@ public class UserServiceImpl implements UserService {
             existingUser.setStatus(user.getStatus());
         }
 
-        return userRepository.save(existingUser);
+        User saved = userRepository.save(existingUser);
+        pinyinIndex.register(PinyinNameIndex.NameField.USER_REAL_NAME, saved.getRealName());
+        return saved;
     }
 
     @Override
@@ -99,19 +115,33 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<User> getUsers(Pageable pageable) {
-        Page<User> page = userRepository.findAll(pageable);
-        return new PageResponse<User>(page.getContent(), page.getTotalElements(),
-                page.getNumber(), page.getSize());
+    public PageResponse<User> getUsers(Pageable pageable, boolean withTotal) {
+        return findPage(PageTotalCache.key("users"), SearchSpecificationBuilder.<User>create().build(),
+                pageable, withTotal);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<User> searchUsers(String keyword, User.UserStatus status,
-            User.UserRole role, Pageable pageable) {
-        Page<User> page = userRepository.findByConditions(keyword, status, role, pageable);
-        return new PageResponse<User>(page.getContent(), page.getTotalElements(),
-                page.getNumber(), page.getSize());
+            User.UserRole role, Pageable pageable, boolean withTotal) {
+        Specification<User> spec = UserSpecifications.search(keyword,
+                pinyinIndex.findNames(PinyinNameIndex.NameField.USER_REAL_NAME, keyword), status, role).build();
+        return findPage(PageTotalCache.key("users", keyword, status, role), spec, pageable, withTotal);
+    }
+
+    /**
+     * 分页查询；不需要总数时按 Slice 读取，省去 COUNT 查询
+     */
+    private PageResponse<User> findPage(String totalKey, Specification<User> spec, Pageable pageable,
+            boolean withTotal) {
+        if (withTotal) {
+            Page<User> page = userRepository.findAll(spec, pageable);
+            totalCache.put(totalKey, page.getTotalElements());
+            return new PageResponse<User>(page.getContent(), page.getTotalElements(),
+                    page.getNumber(), page.getSize());
+        }
+        Slice<User> slice = userRepository.findBy(spec, query -> query.slice(pageable));
+        return PageResponse.ofSlice(slice, totalCache.get(totalKey));
     }
 
     @Override
@@ -0,0 +1,283 @@
+package com.example.backend.statistics;
+
+import com.example.backend.entity.SealApplication;
+import com.example.backend.event.SealApplicationChangedEvent;
+import com.example.backend.event.SealApplicationSnapshot;
+import com.example.backend.repository.SealApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 用印申请计数器
+ * 按状态、部门、印章维护申请数量，随每次申请变更增量更新，统计接口直接读取内存计数；
+ * 定期与数据库 GROUP BY 结果对账并整体替换，修正极端情况下产生的偏差。
+ * 对账期间提交的变更先记录下来，换上新计数后按同一快照中这些申请的状态扣减、再按各申请最后一次变更后的状态累加
+ */
+@Component
+public class ApplicationCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationCounters.class);
+
+    /**
+     * 修正时每次查询的申请数（IN 列表长度）
+     */
+    private static final int CORRECTION_BATCH_SIZE = 500;
+
+    @Autowired
+    private SealApplicationRepository applicationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${statistics.counters.enabled:true}")
+    private boolean enabled;
+
+    private volatile Counts counts = new Counts();
+
+    private volatile boolean ready;
+
+    private final Object handoffLock = new Object();
+
+    /**
+     * 对账期间提交的变更（由 handoffLock 保护），不在对账时为 null
+     */
+    private List<SealApplicationChangedEvent> pendingDuringReconcile;
+
+    /**
+     * 启动后在后台线程加载计数，加载完成前统计接口回退到数据库查询
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::reconcile, "application-counters-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 与数据库对账：重新统计并替换内存计数
+     */
+    @Scheduled(initialDelayString = "${statistics.counters.reconcile-interval-ms:600000}",
+            fixedDelayString = "${statistics.counters.reconcile-interval-ms:600000}")
+    public synchronized void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (handoffLock) {
+            pendingDuringReconcile = new ArrayList<>();
+        }
+        // 统计查询与修正查询读取同一快照
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        Counts previous = counts;
+        Counts fresh;
+        try {
+            fresh = transactionTemplate.execute(status -> {
+                Counts loaded = load();
+                List<SealApplicationChangedEvent> pending;
+                synchronized (handoffLock) {
+                    pending = pendingDuringReconcile;
+                    pendingDuringReconcile = null;
+                    counts = loaded;
+                }
+                correct(loaded, pending);
+                return loaded;
+            });
+        } catch (RuntimeException e) {
+            synchronized (handoffLock) {
+                pendingDuringReconcile = null;
+            }
+            log.warn("申请计数对账失败", e);
+            return;
+        }
+
+        if (ready) {
+            Map<SealApplication.ApplicationStatus, Long> current = snapshot(previous.byStatus);
+            Map<SealApplication.ApplicationStatus, Long> expected = snapshot(fresh.byStatus);
+            if (!current.equals(expected)) {
+                log.info("申请计数与数据库存在偏差，已修正: 内存 {}，数据库 {}", current, expected);
+            }
+        }
+        ready = true;
+    }
+
+    /**
+     * 事务提交后增量更新：扣减变更前的计数，累加变更后的计数
+     */
+    @TransactionalEventListener
+    public void onApplicationChanged(SealApplicationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Counts target;
+        synchronized (handoffLock) {
+            if (pendingDuringReconcile != null) {
+                pendingDuringReconcile.add(event);
+            }
+            target = counts;
+        }
+        apply(target, event.getBefore(), -1);
+        apply(target, event.getAfter(), 1);
+    }
+
+    /**
+     * 计数是否可用，未就绪时调用方应回退到数据库统计
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 申请总数
+     */
+    public long total() {
+        return counts.byStatus.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * 按状态统计
+     */
+    public Map<SealApplication.ApplicationStatus, Long> countByStatus() {
+        return snapshot(counts.byStatus);
+    }
+
+    /**
+     * 按部门统计
+     */
+    public Map<String, Long> countByDepartment() {
+        return snapshot(counts.byDepartment);
+    }
+
+    /**
+     * 按印章ID统计
+     */
+    public Map<Long, Long> countBySealId() {
+        return snapshot(counts.bySealId);
+    }
+
+    /**
+     * 未关联印章的申请按印章名称统计
+     */
+    public Map<String, Long> countUnlinkedBySealName() {
+        return snapshot(counts.unlinkedBySealName);
+    }
+
+    /**
+     * 申请中记录的印章名称（印章已删除时用于展示）
+     */
+    public String sealName(Long sealId) {
+        return counts.sealNames.get(sealId);
+    }
+
+    private Counts load() {
+        Counts loaded = new Counts();
+        for (Object[] row : applicationRepository.countByStatus()) {
+            add(loaded.byStatus, (SealApplication.ApplicationStatus) row[0], (Long) row[1]);
+        }
+        for (Object[] row : applicationRepository.countByDepartment()) {
+            add(loaded.byDepartment, (String) row[0], (Long) row[1]);
+        }
+        for (Object[] row : applicationRepository.countBySealId()) {
+            add(loaded.bySealId, (Long) row[0], (Long) row[2]);
+            loaded.sealNames.put((Long) row[0], (String) row[1]);
+        }
+        for (Object[] row : applicationRepository.countUnlinkedBySealName()) {
+            add(loaded.unlinkedBySealName, (String) row[0], (Long) row[1]);
+        }
+        return loaded;
+    }
+
+    /**
+     * 修正对账期间变更的申请：扣减快照中的状态，累加最后一次变更后的状态（已删除的不再累加）；
+     * 换上新计数后到达的变更按增量作用在新计数上，与修正的先后顺序无关
+     */
+    private void correct(Counts target, List<SealApplicationChangedEvent> pending) {
+        Map<Long, SealApplicationSnapshot> latest = new LinkedHashMap<>();
+        for (SealApplicationChangedEvent event : pending) {
+            SealApplicationSnapshot any = event.getAfter() != null ? event.getAfter() : event.getBefore();
+            if (any != null && any.getId() != null) {
+                latest.put(any.getId(), event.getAfter());
+            }
+        }
+        List<Long> ids = new ArrayList<>(latest.keySet());
+        for (int from = 0; from < ids.size(); from += CORRECTION_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + CORRECTION_BATCH_SIZE));
+            for (Object[] row : applicationRepository.findCounterStates(batch)) {
+                apply(target, (SealApplication.ApplicationStatus) row[1], (String) row[2], (Long) row[3],
+                        (String) row[4], -1);
+            }
+        }
+        latest.values().forEach(after -> apply(target, after, 1));
+    }
+
+    private void apply(Counts target, SealApplicationSnapshot snapshot, long delta) {
+        if (snapshot == null || snapshot.getId() == null) {
+            return;
+        }
+        apply(target, snapshot.getStatus(), snapshot.getDepartment(), snapshot.getSealId(), snapshot.getSealName(),
+                delta);
+    }
+
+    private void apply(Counts target, SealApplication.ApplicationStatus status, String department, Long sealId,
+            String sealName, long delta) {
+        add(target.byStatus, status, delta);
+        add(target.byDepartment, department, delta);
+        if (sealId != null) {
+            add(target.bySealId, sealId, delta);
+            if (sealName != null) {
+                target.sealNames.put(sealId, sealName);
+            }
+        } else {
+            add(target.unlinkedBySealName, sealName, delta);
+        }
+    }
+
+    private static <K> void add(Map<K, LongAdder> target, K key, long delta) {
+        if (key != null) {
+            target.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * 复制当前计数，去掉已减为 0 的分组（与 GROUP BY 结果一致）
+     */
+    private static <K> Map<K, Long> snapshot(Map<K, LongAdder> source) {
+        Map<K, Long> result = new HashMap<>();
+        source.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value > 0) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private static final class Counts {
+        private final Map<SealApplication.ApplicationStatus, LongAdder> byStatus = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byDepartment = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> bySealId = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> unlinkedBySealName = new ConcurrentHashMap<>();
+        private final Map<Long, String> sealNames = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.backend.statistics;
+
+import com.example.backend.entity.ApplicationDailyStat;
+import com.example.backend.entity.ApplicationStatDelta;
+import com.example.backend.entity.SealApplication;
+import com.example.backend.event.SealApplicationChangedEvent;
+import com.example.backend.event.SealApplicationSnapshot;
+import com.example.backend.repository.ApplicationDailyStatRepository;
+import com.example.backend.repository.ApplicationStatDeltaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 用印申请日汇总
+ * 申请变更时在同一事务内追加统计增量（按申请日期 × 部门 × 印章 × 状态），
+ * 后台任务定期把增量合并进日汇总表；查询时合并日汇总与尚未合并的增量，结果始终与申请表一致
+ * （关联、解除关联印章同样逐条发布申请变更事件）；
+ * 合并后出现负数说明增量有遗漏，保留该行并记录警告，不截断为 0
+ */
+@Component
+public class ApplicationDailyRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationDailyRollup.class);
+
+    private static final int COMPACT_BATCH_SIZE = 1000;
+
+    /**
+     * 未关联印章时使用的印章ID
+     */
+    public static final long UNLINKED_SEAL_ID = 0L;
+
+    @Autowired
+    private ApplicationStatDeltaRepository deltaRepository;
+
+    @Autowired
+    private ApplicationDailyStatRepository statRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 申请变更时追加增量：与申请写入处于同一事务，回滚时一并撤销；
+     * 同一事务内的多次变更（如批量审批）先按维度合并，提交前一次写入
+     */
+    @EventListener
+    public void onApplicationChanged(SealApplicationChangedEvent event) {
+        StatKey before = StatKey.of(event.getBefore());
+        StatKey after = StatKey.of(event.getAfter());
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Map<StatKey, Integer> pending = pendingDeltas();
+        if (before != null) {
+            pending.merge(before, -1, Integer::sum);
+        }
+        if (after != null) {
+            pending.merge(after, 1, Integer::sum);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            saveDeltas(pending);
+        }
+    }
+
+    /**
+     * 定期把增量合并到日汇总，每批一个事务
+     */
+    @Scheduled(initialDelayString = "${statistics.daily-rollup.compact-interval-ms:60000}",
+            fixedDelayString = "${statistics.daily-rollup.compact-interval-ms:60000}")
+    public void compact() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long merged = 0;
+        try {
+            while (true) {
+                Integer batch = transactionTemplate.execute(status -> compactBatch());
+                merged += batch;
+                if (batch < COMPACT_BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("申请日汇总合并失败", e);
+        }
+        if (merged > 0) {
+            log.debug("已合并 {} 条申请统计增量", merged);
+        }
+    }
+
+    /**
+     * 按日期统计申请数量（日汇总 + 未合并增量），没有申请的日期不返回
+     *
+     * @param department 部门，null 表示不过滤
+     * @param sealId     印章ID，null 表示不过滤（0 表示未关联印章的申请）
+     * @param status     状态，null 表示不过滤
+     */
+    public Map<LocalDate, Long> dailyCounts(LocalDate from, LocalDate to, String department, Long sealId,
+            SealApplication.ApplicationStatus status) {
+        Map<LocalDate, Long> counts = new TreeMap<>();
+        for (Object[] row : statRepository.sumByDate(from, to, department, sealId, status)) {
+            counts.merge((LocalDate) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        for (Object[] row : deltaRepository.sumByDate(from, to, department, sealId, status)) {
+            counts.merge((LocalDate) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        counts.values().removeIf(count -> count <= 0);
+        return counts;
+    }
+
+    /**
+     * 按粒度汇总申请数量，键为周期起始日
+     */
+    public Map<LocalDate, Long> periodCounts(TrendGranularity granularity, LocalDate from, LocalDate to,
+            String department, Long sealId, SealApplication.ApplicationStatus status) {
+        Map<LocalDate, Long> periods = new TreeMap<>();
+        dailyCounts(from, to, department, sealId, status)
+                .forEach((date, count) -> periods.merge(granularity.periodStart(date), count, Long::sum));
+        return periods;
+    }
+
+    /**
+     * 当前事务中尚未写入的增量，首次使用时注册提交前写入的回调；不在事务中时返回临时集合
+     */
+    @SuppressWarnings("unchecked")
+    private Map<StatKey, Integer> pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        Map<StatKey, Integer> pending = (Map<StatKey, Integer>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<StatKey, Integer> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    saveDeltas(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ApplicationDailyRollup.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void saveDeltas(Map<StatKey, Integer> pending) {
+        List<ApplicationStatDelta> deltas = new ArrayList<>(pending.size());
+        pending.forEach((key, delta) -> {
+            if (delta != 0) {
+                deltas.add(key.delta(delta));
+            }
+        });
+        pending.clear();
+        deltaRepository.saveAll(deltas);
+    }
+
+    private int compactBatch() {
+        List<ApplicationStatDelta> deltas = deltaRepository.findAllByOrderByIdAsc(
+                PageRequest.of(0, COMPACT_BATCH_SIZE));
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        Map<StatKey, Long> sums = new HashMap<>();
+        for (ApplicationStatDelta delta : deltas) {
+            sums.merge(new StatKey(delta.getStatDate(), delta.getDepartment(), delta.getSealId(),
+                    delta.getStatus()), delta.getDelta().longValue(), Long::sum);
+        }
+        sums.forEach((key, sum) -> {
+            if (sum == 0) {
+                return;
+            }
+            ApplicationDailyStat stat = statRepository.findByStatDateAndDepartmentAndSealIdAndStatus(
+                    key.statDate(), key.department(), key.sealId(), key.status())
+                    .orElseGet(() -> new ApplicationDailyStat(key.statDate(), key.department(), key.sealId(),
+                            key.status(), 0L));
+            long count = stat.getApplicationCount() + sum;
+            if (count == 0) {
+                if (stat.getId() != null) {
+                    statRepository.delete(stat);
+                }
+                return;
+            }
+            if (count < 0) {
+                // 计数不可能为负，说明有变更未写增量；保留该行以便对账时发现和修正
+                log.warn("申请日汇总计数为负: {} {} 印章 {} {} = {}", key.statDate(), key.department(), key.sealId(),
+                        key.status(), count);
+            }
+            stat.setApplicationCount(count);
+            statRepository.save(stat);
+        });
+        // 按读取到的ID删除，不影响合并期间新提交的增量
+        deltaRepository.deleteAllInBatch(deltas);
+        return deltas.size();
+    }
+
+    private record StatKey(LocalDate statDate, String department, Long sealId,
+            SealApplication.ApplicationStatus status) {
+
+        private static StatKey of(SealApplicationSnapshot snapshot) {
+            if (snapshot == null || snapshot.getId() == null || snapshot.getApplyTime() == null) {
+                return null;
+            }
+            return new StatKey(snapshot.getApplyTime().toLocalDate(), snapshot.getDepartment(),
+                    snapshot.getSealId() != null ? snapshot.getSealId() : UNLINKED_SEAL_ID,
+                    snapshot.getStatus());
+        }
+
+        private ApplicationStatDelta delta(int delta) {
+            return new ApplicationStatDelta(statDate, department, sealId, status, delta);
+        }
+    }
+}
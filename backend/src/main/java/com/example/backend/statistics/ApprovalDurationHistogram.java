@@ -0,0 +1,403 @@
+package com.example.backend.statistics;
+
+import com.example.backend.event.SealApplicationChangedEvent;
+import com.example.backend.event.SealApplicationSnapshot;
+import com.example.backend.repository.SealApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 审批时长直方图
+ * 按分钟记录每条申请从提交到审批的时长，桶按 2 的幂分段、每段再等分 8 份（相对误差不超过 12.5%），
+ * 同时维护总和、时长范围计数和最快/最慢记录；启动时从数据库按主键分批重建，之后随审批事件增量更新
+ */
+@Component
+public class ApprovalDurationHistogram {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalDurationHistogram.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * 每个 2 的幂区间内的子桶数（2^SUB_BUCKET_BITS）
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * 时长范围（与原 TIMESTAMPDIFF(HOUR) 分组口径一致：按整小时截断后比较）
+     */
+    public static final String[] RANGE_NAMES = { "within1Hour", "within1Day", "within3Days", "within7Days",
+            "moreThan7Days" };
+    private static final long[] RANGE_MAX_HOURS = { 1, 24, 72, 168 };
+
+    @Autowired
+    private SealApplicationRepository applicationRepository;
+
+    @Value("${statistics.approval-histogram.enabled:true}")
+    private boolean enabled;
+
+    private volatile Histogram histogram = new Histogram();
+
+    private volatile boolean ready;
+
+    private final Object handoffLock = new Object();
+
+    /**
+     * 重建期间提交的变更（由 handoffLock 保护），不在重建时为 null
+     */
+    private List<PendingEvent> pendingDuringRebuild;
+
+    /**
+     * 重建过程中已读取并处理完的最大申请ID（由 handoffLock 保护）
+     */
+    private long rebuiltUpToId;
+
+    /**
+     * 启动后在后台线程构建直方图，构建完成前统计接口回退到数据库查询
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        startRebuild("approval-histogram-builder");
+    }
+
+    /**
+     * 从数据库全量重建，按主键分批读取
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Histogram fresh = new Histogram();
+        synchronized (handoffLock) {
+            rebuiltUpToId = 0;
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            long lastId = 0;
+            while (true) {
+                List<Object[]> rows = applicationRepository.findApprovalDurations(lastId,
+                        PageRequest.of(0, LOAD_BATCH_SIZE));
+                Map<Long, Long> read = new HashMap<>();
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    long minutes = minutesBetween((LocalDateTime) row[2], (LocalDateTime) row[3]);
+                    fresh.record(lastId, (String) row[1], minutes, 1);
+                    read.put(lastId, minutes);
+                }
+                boolean finished = rows.size() < LOAD_BATCH_SIZE;
+                synchronized (handoffLock) {
+                    rebuiltUpToId = finished ? Long.MAX_VALUE : lastId;
+                    resolvePending(rebuiltUpToId, read);
+                }
+                if (finished) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (handoffLock) {
+                pendingDuringRebuild = null;
+            }
+            log.warn("审批时长直方图构建失败，统计将回退到数据库查询", e);
+            return;
+        }
+
+        // 切换到新直方图，按顺序重放读取结果中未包含的变更
+        List<PendingEvent> pending;
+        synchronized (handoffLock) {
+            pending = pendingDuringRebuild;
+            pendingDuringRebuild = null;
+            histogram = fresh;
+        }
+        for (PendingEvent entry : pending) {
+            if (entry.replay) {
+                apply(fresh, entry.event);
+            }
+        }
+        ready = true;
+        log.info("审批时长直方图构建完成: {} 条记录, 耗时 {} ms", fresh.count.sum(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 事务提交后增量更新：移除变更前的时长，记录变更后的时长
+     */
+    @TransactionalEventListener
+    public void onApplicationChanged(SealApplicationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Histogram target;
+        synchronized (handoffLock) {
+            if (pendingDuringRebuild != null) {
+                Long id = idOf(event);
+                // 申请已被扫描过：读取发生在提交之前，需要重放；否则待扫描到该申请所在的批次后再判断
+                pendingDuringRebuild.add(new PendingEvent(event, id != null && id <= rebuiltUpToId));
+                return;
+            }
+            target = histogram;
+        }
+        apply(target, event);
+    }
+
+    /**
+     * 直方图是否可用，未就绪时调用方应回退到数据库统计
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 已审批申请数
+     */
+    public long count() {
+        return histogram.count.sum();
+    }
+
+    /**
+     * 平均审批时长（小时），无数据时返回 null
+     */
+    public Double averageHours() {
+        Histogram current = histogram;
+        long count = current.count.sum();
+        return count > 0 ? current.sumMinutes.sum() / 60.0 / count : null;
+    }
+
+    /**
+     * 各时长范围的申请数，顺序与 {@link #RANGE_NAMES} 一致
+     */
+    public long[] rangeCounts() {
+        Histogram current = histogram;
+        long[] result = new long[RANGE_NAMES.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = current.ranges.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * 审批时长百分位（分钟），返回所在桶的上界（不超过当前最大值），无数据时返回 null
+     *
+     * @param percentile 百分位，取值 (0, 100]
+     */
+    public Long percentileMinutes(double percentile) {
+        Histogram current = histogram;
+        long total = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = current.buckets.get(i);
+            total += counts[i];
+        }
+        if (total <= 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                Extreme slowest = current.slowest;
+                long upper = bucketUpperBound(i);
+                return slowest != null ? Math.min(upper, slowest.minutes()) : upper;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 审批最快的记录，无数据时返回 null
+     */
+    public Extreme fastest() {
+        return histogram.fastest;
+    }
+
+    /**
+     * 审批最慢的记录，无数据时返回 null
+     */
+    public Extreme slowest() {
+        return histogram.slowest;
+    }
+
+    private void apply(Histogram target, SealApplicationChangedEvent event) {
+        SealApplicationSnapshot before = event.getBefore();
+        SealApplicationSnapshot after = event.getAfter();
+        Long beforeMinutes = minutesOf(before);
+        Long afterMinutes = minutesOf(after);
+        if (beforeMinutes != null && beforeMinutes.equals(afterMinutes)) {
+            return;
+        }
+        if (beforeMinutes != null) {
+            boolean extreme = target.isExtreme(before.getId());
+            target.record(before.getId(), before.getApplicationNo(), beforeMinutes, -1);
+            if (extreme) {
+                // 最快/最慢记录无法在删除后增量推算，重新从数据库构建
+                startRebuild("approval-histogram-rebuilder");
+            }
+        }
+        if (afterMinutes != null) {
+            target.record(after.getId(), after.getApplicationNo(), afterMinutes, 1);
+        }
+    }
+
+    private void startRebuild(String threadName) {
+        Thread builder = new Thread(this::rebuild, threadName);
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private static Long idOf(SealApplicationChangedEvent event) {
+        SealApplicationSnapshot snapshot = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        return snapshot != null ? snapshot.getId() : null;
+    }
+
+    private static Long minutesOf(SealApplicationSnapshot snapshot) {
+        if (snapshot == null || snapshot.getId() == null || snapshot.getApproveTime() == null
+                || snapshot.getApplyTime() == null) {
+            return null;
+        }
+        return minutesBetween(snapshot.getApplyTime(), snapshot.getApproveTime());
+    }
+
+    private static long minutesBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(from, to).toMinutes());
+    }
+
+    /**
+     * 时长所在的桶：小于 8 分钟每分钟一个桶，之后每个 2 的幂区间等分为 8 个桶
+     */
+    static int bucketIndex(long minutes) {
+        if (minutes < SUB_BUCKETS) {
+            return (int) minutes;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(minutes);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((minutes >>> shift) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    private static int rangeIndex(long minutes) {
+        long hours = minutes / 60;
+        for (int i = 0; i < RANGE_MAX_HOURS.length; i++) {
+            if (hours <= RANGE_MAX_HOURS[i]) {
+                return i;
+            }
+        }
+        return RANGE_MAX_HOURS.length;
+    }
+
+    /**
+     * 判断扫描到 scannedUpTo 为止、尚未确定的变更是否需要重放（在 handoffLock 内调用）：
+     * 同一申请的变更按提交顺序排列，读取结果与其中某条变更后的时长一致时，该条及之前的变更已包含在读取结果中，
+     * 之后的变更需要重放；都不一致时读取的是全部变更之前的状态，全部重放
+     *
+     * @param read 本批读取到的申请ID与时长（未审批的申请不在其中）
+     */
+    private void resolvePending(long scannedUpTo, Map<Long, Long> read) {
+        Map<Long, List<PendingEvent>> unresolved = new LinkedHashMap<>();
+        for (PendingEvent entry : pendingDuringRebuild) {
+            Long id = idOf(entry.event);
+            if (!entry.resolved && id != null && id <= scannedUpTo) {
+                unresolved.computeIfAbsent(id, key -> new ArrayList<>()).add(entry);
+            }
+        }
+        unresolved.forEach((id, entries) -> {
+            Long readMinutes = read.get(id);
+            int reflected = -1;
+            for (int i = 0; i < entries.size(); i++) {
+                if (Objects.equals(minutesOf(entries.get(i).event.getAfter()), readMinutes)) {
+                    reflected = i;
+                }
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).resolved = true;
+                entries.get(i).replay = i > reflected;
+            }
+        });
+    }
+
+    /**
+     * 重建期间提交的变更：提交时申请已被扫描过的直接确定需要重放，其余在扫描到所在批次后确定
+     */
+    private static final class PendingEvent {
+        private final SealApplicationChangedEvent event;
+        private boolean resolved;
+        private boolean replay;
+
+        private PendingEvent(SealApplicationChangedEvent event, boolean scanned) {
+            this.event = event;
+            this.resolved = scanned;
+            this.replay = scanned;
+        }
+    }
+
+    /**
+     * 最快/最慢审批记录
+     */
+    public record Extreme(Long id, String applicationNo, long minutes) {
+    }
+
+    private static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLongArray ranges = new AtomicLongArray(RANGE_NAMES.length);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumMinutes = new LongAdder();
+        private volatile Extreme fastest;
+        private volatile Extreme slowest;
+
+        private void record(Long id, String applicationNo, long minutes, int delta) {
+            buckets.addAndGet(bucketIndex(minutes), delta);
+            ranges.addAndGet(rangeIndex(minutes), delta);
+            count.add(delta);
+            sumMinutes.add(delta * minutes);
+            if (delta > 0) {
+                updateExtremes(new Extreme(id, applicationNo, minutes));
+            }
+        }
+
+        private synchronized void updateExtremes(Extreme candidate) {
+            if (fastest == null || candidate.minutes() < fastest.minutes()) {
+                fastest = candidate;
+            }
+            if (slowest == null || candidate.minutes() > slowest.minutes()) {
+                slowest = candidate;
+            }
+        }
+
+        private boolean isExtreme(Long id) {
+            Extreme min = fastest;
+            Extreme max = slowest;
+            return (min != null && min.id().equals(id)) || (max != null && max.id().equals(id));
+        }
+    }
+}
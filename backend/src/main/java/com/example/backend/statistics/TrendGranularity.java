@@ -0,0 +1,87 @@
+package com.example.backend.statistics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 趋势统计粒度
+ * 负责把日期归入所在周期（周期起始日）并生成周期标签
+ */
+public enum TrendGranularity {
+    DAY("日"),
+    WEEK("周"),
+    MONTH("月"),
+    QUARTER("季度"),
+    YEAR("年");
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final String description;
+
+    TrendGranularity(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 日期所在周期的起始日（周以周一为起始）
+     */
+    public LocalDate periodStart(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            case QUARTER:
+                return date.with(IsoFields.DAY_OF_QUARTER, 1);
+            case YEAR:
+                return date.withDayOfYear(1);
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * 下一个周期的起始日
+     */
+    public LocalDate nextPeriod(LocalDate periodStart) {
+        switch (this) {
+            case WEEK:
+                return periodStart.plusWeeks(1);
+            case MONTH:
+                return periodStart.plusMonths(1);
+            case QUARTER:
+                return periodStart.plusMonths(3);
+            case YEAR:
+                return periodStart.plusYears(1);
+            default:
+                return periodStart.plusDays(1);
+        }
+    }
+
+    /**
+     * 周期标签：2024-05-01 / 2024-W18 / 2024-05 / 2024-Q2 / 2024
+     */
+    public String label(LocalDate periodStart) {
+        switch (this) {
+            case WEEK:
+                return String.format("%d-W%02d", periodStart.get(IsoFields.WEEK_BASED_YEAR),
+                        periodStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH:
+                return periodStart.format(MONTH_FORMAT);
+            case QUARTER:
+                return periodStart.getYear() + "-Q" + periodStart.get(IsoFields.QUARTER_OF_YEAR);
+            case YEAR:
+                return String.valueOf(periodStart.getYear());
+            default:
+                return periodStart.format(DAY_FORMAT);
+        }
+    }
+}
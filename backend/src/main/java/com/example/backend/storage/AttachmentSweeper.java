@@ -0,0 +1,129 @@
+package com.example.backend.storage;
+
+import com.example.backend.entity.Attachment;
+import com.example.backend.repository.AttachmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 无引用附件清理
+ * 定期按ID分批遍历上传超过保留时间的上传记录，URL 已不被任何申请、印章引用的记录删除并释放文件内容的引用，
+ * 引用计数降为 0 的文件随之删除；批与批之间暂停、按速率限制删除文件，避免与在线下载争抢磁盘 I/O。
+ * 保留时间用于覆盖“已上传、尚未提交申请”的文件
+ */
+@Component
+public class AttachmentSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentSweeper.class);
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${file.attachment.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.attachment.gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${file.attachment.gc.batch-size:200}")
+    private int batchSize;
+
+    @Value("${file.attachment.gc.batch-pause-ms:500}")
+    private long batchPauseMs;
+
+    @Value("${file.attachment.gc.deletes-per-second:20}")
+    private int deletesPerSecond;
+
+    @Scheduled(initialDelayString = "${file.attachment.gc.interval-ms:21600000}",
+            fixedDelayString = "${file.attachment.gc.interval-ms:21600000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(graceHours);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        int scanned = 0;
+        int removed = 0;
+        int deletedFiles = 0;
+        try {
+            while (true) {
+                List<Attachment> batch = attachmentRepository.findBatchCreatedBefore(afterId, cutoff,
+                        PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                scanned += batch.size();
+
+                Set<String> referenced = attachmentRepository.findReferencedUrls(
+                        batch.stream().map(Attachment::getUrl).collect(Collectors.toSet()));
+                Map<String, List<Long>> orphansByHash = new LinkedHashMap<>();
+                for (Attachment attachment : batch) {
+                    if (!referenced.contains(attachment.getUrl())) {
+                        orphansByHash.computeIfAbsent(attachment.getHash(), hash -> new ArrayList<>())
+                                .add(attachment.getId());
+                    }
+                }
+
+                // 每个文件内容一个事务：删除上传记录与释放引用原子完成
+                for (Map.Entry<String, List<Long>> entry : orphansByHash.entrySet()) {
+                    List<Long> ids = entry.getValue();
+                    Boolean fileDeleted = transactionTemplate.execute(status -> {
+                        attachmentRepository.deleteByIds(ids);
+                        return contentStore.release(entry.getKey(), ids.size());
+                    });
+                    removed += ids.size();
+                    if (Boolean.TRUE.equals(fileDeleted)) {
+                        deletedFiles++;
+                        throttle();
+                    }
+                }
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchPauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("无引用附件清理失败", e);
+        }
+        if (removed > 0) {
+            log.info("无引用附件清理: 检查 {} 条上传记录，删除 {} 条，删除文件 {} 个，耗时 {} ms", scanned, removed,
+                    deletedFiles, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 限制删除文件的速率
+     */
+    private void throttle() throws InterruptedException {
+        if (deletesPerSecond > 0) {
+            Thread.sleep(1000L / deletesPerSecond);
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package com.example.backend.storage;
+
+import com.example.backend.common.ResourceNotFoundException;
+import com.example.backend.dto.ChunkedUploadStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 分块上传
+ * 初始化时按文件大小预分配临时文件，各分块可并行上传，按偏移量用 FileChannel 定位写入，不经过 multipart 临时文件；
+ * 已收到的分块记录在磁盘上的分块位图中，连接中断或服务重启后客户端查询状态即可只补传缺少的分块；
+ * 完成时确认全部分块已收到并计算 SHA-256（客户端提供时比对），校验通过后移动到目标位置
+ */
+@Component
+public class ChunkedUploadManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadManager.class);
+
+    /**
+     * 未完成上传的工作目录（位于上传目录下，每个上传任务一个子目录）
+     */
+    private static final String WORK_DIR = ".chunked";
+
+    private static final String DATA_FILE = "data.part";
+
+    private static final String CHUNKS_FILE = "chunks";
+
+    private static final String SESSION_FILE = "session.properties";
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{32}");
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+    private static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int DIGEST_BUFFER_SIZE = 1024 * 1024;
+
+    @Value("${file.upload.path:uploads}")
+    private String uploadPath;
+
+    @Value("${file.upload.chunked.max-size:1073741824}")
+    private long maxSize;
+
+    @Value("${file.upload.chunked.chunk-size:4194304}")
+    private int defaultChunkSize;
+
+    @Value("${file.upload.chunked.expire-hours:24}")
+    private long expireHours;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 创建上传任务并预分配文件
+     *
+     * @param chunkSize 分块大小，为 null 时使用默认值
+     * @param sha256    整个文件的 SHA-256（十六进制），为 null 时完成时不比对
+     */
+    public ChunkedUploadStatus init(String filename, String type, long size, Integer chunkSize, String sha256)
+            throws IOException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+        if (size > maxSize) {
+            throw new IllegalArgumentException("文件大小不能超过" + maxSize / 1024 / 1024 + "MB");
+        }
+        int effectiveChunkSize = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (effectiveChunkSize < MIN_CHUNK_SIZE || effectiveChunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("分块大小须在 64KB 到 16MB 之间");
+        }
+        int chunkCount = (int) ((size + effectiveChunkSize - 1) / effectiveChunkSize);
+        String expectedSha256 = normalizeSha256(sha256);
+
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Path dir = workDir().resolve(uploadId);
+        Files.createDirectories(dir);
+        try (RandomAccessFile data = new RandomAccessFile(dir.resolve(DATA_FILE).toFile(), "rw")) {
+            data.setLength(size);
+        }
+        Files.write(dir.resolve(CHUNKS_FILE), new byte[chunkCount]);
+
+        Session session = new Session(uploadId, dir, filename, type, size, effectiveChunkSize, chunkCount,
+                expectedSha256, new BitSet(chunkCount));
+        // 任务信息最后写入：缺少该文件的目录视为未创建完成，由过期清理删除
+        Properties properties = new Properties();
+        properties.setProperty("filename", filename);
+        properties.setProperty("type", type);
+        properties.setProperty("size", Long.toString(size));
+        properties.setProperty("chunkSize", Integer.toString(effectiveChunkSize));
+        if (expectedSha256 != null) {
+            properties.setProperty("sha256", expectedSha256);
+        }
+        try (Writer writer = Files.newBufferedWriter(dir.resolve(SESSION_FILE), StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        sessions.put(uploadId, session);
+        log.info("分块上传开始: {} {} ({} 字节，{} 块)", uploadId, filename, size, chunkCount);
+        return session.toStatus();
+    }
+
+    /**
+     * 查询上传状态（已收到的分块）
+     */
+    public ChunkedUploadStatus status(String uploadId) {
+        Session session = find(uploadId);
+        session.ensureOpen();
+        return session.toStatus();
+    }
+
+    /**
+     * 写入一个分块；同一任务的不同分块可并发写入，重复上传同一分块会覆盖，同一分块不能同时上传；
+     * 覆盖前先清除该分块的已收到标记，写入并落盘、校验通过后才重新标记，中途失败或服务中断时该分块需要重传
+     *
+     * @param checksum 分块内容的 SHA-256（十六进制），为 null 时不校验
+     */
+    public void writeChunk(String uploadId, int index, InputStream in, String checksum) throws IOException {
+        Session session = find(uploadId);
+        if (index < 0 || index >= session.chunkCount) {
+            throw new IllegalArgumentException("分块序号超出范围: " + index);
+        }
+        String expectedChecksum = normalizeSha256(checksum);
+        MessageDigest digest = expectedChecksum != null ? sha256() : null;
+        long offset = (long) index * session.chunkSize;
+        long length = Math.min(session.chunkSize, session.size - offset);
+
+        session.lock.readLock().lock();
+        try {
+            session.ensureOpen();
+            session.beginWrite(index);
+            try {
+                long written = 0;
+                try (FileChannel channel = FileChannel.open(session.dir.resolve(DATA_FILE),
+                        StandardOpenOption.WRITE)) {
+                    ReadableByteChannel source = Channels.newChannel(in);
+                    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                    while (source.read(buffer) != -1) {
+                        if (written + buffer.position() > length) {
+                            throw new IllegalArgumentException("分块 " + index + " 超过应有大小 " + length + " 字节");
+                        }
+                        buffer.flip();
+                        if (digest != null) {
+                            digest.update(buffer.duplicate());
+                        }
+                        while (buffer.hasRemaining()) {
+                            written += channel.write(buffer, offset + written);
+                        }
+                        buffer.clear();
+                    }
+                    // 分块内容先落盘，再在位图中标记已收到
+                    channel.force(false);
+                }
+                if (written != length) {
+                    throw new IllegalArgumentException(
+                            "分块 " + index + " 大小不正确: 应为 " + length + " 字节，实际收到 " + written + " 字节");
+                }
+                if (digest != null && !HexFormat.of().formatHex(digest.digest()).equals(expectedChecksum)) {
+                    throw new IllegalArgumentException("分块 " + index + " 校验失败，请重新上传该分块");
+                }
+                session.markReceived(index);
+            } finally {
+                session.endWrite(index);
+            }
+        } finally {
+            session.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 完成上传：确认全部分块已收到，计算并比对 SHA-256，然后把文件移动到目标位置；
+     * 校验失败时丢弃该任务，客户端需要重新上传
+     *
+     * @param sha256 整个文件的 SHA-256，为 null 时使用初始化时提供的值
+     * @param target 目标文件路径
+     * @return 文件的 SHA-256
+     */
+    public String complete(String uploadId, String sha256, Path target) throws IOException {
+        Session session = find(uploadId);
+        String expectedSha256 = normalizeSha256(sha256);
+        session.lock.writeLock().lock();
+        try {
+            session.ensureOpen();
+            int missing = session.chunkCount - session.receivedCount();
+            if (missing > 0) {
+                throw new IllegalArgumentException("还有 " + missing + " 个分块未上传");
+            }
+            if (expectedSha256 == null) {
+                expectedSha256 = session.sha256;
+            }
+            Path data = session.dir.resolve(DATA_FILE);
+            String actualSha256 = digest(data);
+            if (expectedSha256 != null && !expectedSha256.equals(actualSha256)) {
+                discard(session);
+                throw new IllegalArgumentException("文件校验失败，请重新上传");
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(data, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(data, target);
+            }
+            discard(session);
+            log.info("分块上传完成: {} {} -> {}", uploadId, session.filename, target);
+            return actualSha256;
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 取消上传并删除已上传的分块
+     */
+    public void abort(String uploadId) throws IOException {
+        Session session = find(uploadId);
+        session.lock.writeLock().lock();
+        try {
+            session.ensureOpen();
+            discard(session);
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除超过保留时间没有新分块的上传任务
+     */
+    @Scheduled(initialDelayString = "${file.upload.chunked.cleanup-interval-ms:3600000}",
+            fixedDelayString = "${file.upload.chunked.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        Path workDir = workDir();
+        if (!Files.isDirectory(workDir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofHours(expireHours));
+        int purged = 0;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(workDir)) {
+            for (Path dir : dirs) {
+                try {
+                    if (lastActivity(dir).isAfter(cutoff)) {
+                        continue;
+                    }
+                    Session session = sessions.get(dir.getFileName().toString());
+                    if (session == null) {
+                        deleteDirectory(dir);
+                    } else if (session.lock.writeLock().tryLock()) {
+                        try {
+                            discard(session);
+                        } finally {
+                            session.lock.writeLock().unlock();
+                        }
+                    } else {
+                        continue;
+                    }
+                    purged++;
+                } catch (IOException e) {
+                    log.warn("清理过期分块上传失败: {}", dir, e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理过期分块上传失败", e);
+        }
+        if (purged > 0) {
+            log.info("已清理 {} 个过期的分块上传", purged);
+        }
+    }
+
+    private Path workDir() {
+        return Paths.get(uploadPath, WORK_DIR);
+    }
+
+    /**
+     * 查找上传任务；不在内存中时（如服务重启后）从工作目录恢复
+     */
+    private Session find(String uploadId) {
+        Session session = uploadId != null && UPLOAD_ID.matcher(uploadId).matches()
+                ? sessions.computeIfAbsent(uploadId, this::load)
+                : null;
+        if (session == null) {
+            throw new ResourceNotFoundException("上传任务不存在或已过期");
+        }
+        return session;
+    }
+
+    private Session load(String uploadId) {
+        Path dir = workDir().resolve(uploadId);
+        Path sessionFile = dir.resolve(SESSION_FILE);
+        if (!Files.isRegularFile(sessionFile)) {
+            return null;
+        }
+        try {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(sessionFile, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            long size = Long.parseLong(properties.getProperty("size"));
+            int chunkSize = Integer.parseInt(properties.getProperty("chunkSize"));
+            int chunkCount = (int) ((size + chunkSize - 1) / chunkSize);
+            byte[] flags = Files.readAllBytes(dir.resolve(CHUNKS_FILE));
+            BitSet received = new BitSet(chunkCount);
+            for (int i = 0; i < chunkCount && i < flags.length; i++) {
+                if (flags[i] != 0) {
+                    received.set(i);
+                }
+            }
+            return new Session(uploadId, dir, properties.getProperty("filename"), properties.getProperty("type"),
+                    size, chunkSize, chunkCount, properties.getProperty("sha256"), received);
+        } catch (IOException | RuntimeException e) {
+            log.warn("无法恢复分块上传 {}", uploadId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 结束任务并删除工作目录（调用方持有写锁）
+     */
+    private void discard(Session session) throws IOException {
+        session.closed = true;
+        sessions.remove(session.uploadId, session);
+        deleteDirectory(session.dir);
+    }
+
+    private static Instant lastActivity(Path dir) throws IOException {
+        // 每收到一个分块都会写分块位图，其修改时间即最近活动时间
+        Path chunks = dir.resolve(CHUNKS_FILE);
+        return Files.getLastModifiedTime(Files.exists(chunks) ? chunks : dir).toInstant();
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static String digest(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalizeSha256(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (!SHA256.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("SHA-256 校验值格式错误");
+        }
+        return normalized;
+    }
+
+    /**
+     * 上传任务：分块写入持有读锁（可并发），完成、取消持有写锁
+     */
+    private static final class Session {
+        private final String uploadId;
+        private final Path dir;
+        private final String filename;
+        private final String type;
+        private final long size;
+        private final int chunkSize;
+        private final int chunkCount;
+        private final String sha256;
+        private final BitSet received;
+        /**
+         * 正在写入的分块（与 received 共用同一把锁）
+         */
+        private final BitSet writing = new BitSet();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile boolean closed;
+
+        private Session(String uploadId, Path dir, String filename, String type, long size, int chunkSize,
+                int chunkCount, String sha256, BitSet received) {
+            this.uploadId = uploadId;
+            this.dir = dir;
+            this.filename = filename;
+            this.type = type;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.chunkCount = chunkCount;
+            this.sha256 = sha256;
+            this.received = received;
+        }
+
+        private void ensureOpen() {
+            if (closed) {
+                throw new ResourceNotFoundException("上传任务已完成或已取消");
+            }
+        }
+
+        /**
+         * 开始写入分块：标记为写入中，已收到的分块先在内存和磁盘位图中清除标记（落盘后才开始覆盖内容）
+         *
+         * @throws IllegalArgumentException 该分块正在由另一个请求写入
+         */
+        private void beginWrite(int index) throws IOException {
+            boolean wasReceived;
+            synchronized (received) {
+                if (writing.get(index)) {
+                    throw new IllegalArgumentException("分块 " + index + " 正在上传，请勿重复提交");
+                }
+                writing.set(index);
+                wasReceived = received.get(index);
+                received.clear(index);
+            }
+            if (wasReceived) {
+                try {
+                    writeFlag(index, (byte) 0, true);
+                } catch (IOException e) {
+                    endWrite(index);
+                    throw e;
+                }
+            }
+        }
+
+        private void endWrite(int index) {
+            synchronized (received) {
+                writing.clear(index);
+            }
+        }
+
+        /**
+         * 先写磁盘上的分块位图再更新内存，服务重启后仍能知道哪些分块已收到
+         */
+        private void markReceived(int index) throws IOException {
+            writeFlag(index, (byte) 1, false);
+            synchronized (received) {
+                received.set(index);
+            }
+        }
+
+        private void writeFlag(int index, byte flag, boolean force) throws IOException {
+            try (FileChannel channel = FileChannel.open(dir.resolve(CHUNKS_FILE), StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[] { flag }), index);
+                if (force) {
+                    channel.force(false);
+                }
+            }
+        }
+
+        private int receivedCount() {
+            synchronized (received) {
+                return received.cardinality();
+            }
+        }
+
+        private ChunkedUploadStatus toStatus() {
+            List<Integer> chunks = new ArrayList<>();
+            synchronized (received) {
+                received.stream().forEach(chunks::add);
+            }
+            return new ChunkedUploadStatus(uploadId, filename, type, size, chunkSize, chunkCount, chunks);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.backend.storage;
+
+import com.example.backend.common.PayloadTooLargeException;
+import com.example.backend.entity.Attachment;
+import com.example.backend.repository.AttachmentRepository;
+import com.example.backend.repository.StoredFileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 内容寻址文件存储
+ * 文件按内容的 SHA-256 存放在 {上传目录}/objects/{前两位}/{三、四位}/{完整摘要}，相同内容只保存一份；
+ * 写入时边复制边计算摘要，先写到同一文件系统下的临时文件；在引用计数的行锁内判断内容文件是否存在
+ * （与按引用计数删除文件的清理任务互斥），事务提交后再移动到最终位置，回滚时不会留下没有记录的文件；
+ * 每次上传在同一事务中写一条上传记录，引用计数始终等于上传记录数
+ */
+@Component
+public class ContentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentStore.class);
+
+    private static final String OBJECTS_DIR = "objects";
+
+    private static final String TEMP_DIR = ".tmp";
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private static final Pattern DOWNLOAD_URL = Pattern.compile("/api/files/download/([0-9a-f]{64})(\\.[A-Za-z0-9]+)?");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 提交的最多尝试次数（并发首次上传同一内容时主键冲突、死锁或锁等待超时后重试）
+     */
+    private static final int MAX_COMMIT_ATTEMPTS = 3;
+
+    /**
+     * 临时文件超过该时间仍未提交（如写入过程中服务中断）时删除
+     */
+    private static final Duration TEMP_FILE_MAX_AGE = Duration.ofDays(1);
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${file.upload.path:uploads}")
+    private String uploadPath;
+
+    /**
+     * 保存输入流的全部内容
+     *
+     * @param attachment 上传记录（文件名、分类、内容类型），保存后补全访问地址、摘要和大小
+     */
+    public Attachment store(InputStream in, Attachment attachment) throws IOException {
+        return store(in, Long.MAX_VALUE, attachment);
+    }
+
+    /**
+     * 保存输入流的内容，读取的字节数超过上限时立即停止读取并删除已写入的部分
+     *
+     * @param maxSize    内容大小上限（字节）
+     * @param attachment 见 {@link #store(InputStream, Attachment)}
+     * @throws PayloadTooLargeException 内容超过上限
+     * @throws IllegalArgumentException  内容为空
+     */
+    public Attachment store(InputStream in, long maxSize, Attachment attachment) throws IOException {
+        Path temp = newTempFile();
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new PayloadTooLargeException("文件大小不能超过" + maxSize / 1024 / 1024 + "MB");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("文件不能为空");
+            }
+            return commit(temp, HexFormat.of().formatHex(digest.digest()), size, attachment);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 新的临时文件路径（与最终位置在同一文件系统，提交时可直接移动）
+     */
+    public Path newTempFile() throws IOException {
+        Path dir = Paths.get(uploadPath, TEMP_DIR);
+        Files.createDirectories(dir);
+        return dir.resolve(UUID.randomUUID().toString());
+    }
+
+    /**
+     * 提交已计算摘要的临时文件：写上传记录并把引用计数加一，提交后内容尚不存在时移动到最终位置，已存在时删除临时文件
+     *
+     * @param temp       由 {@link #newTempFile()} 得到的临时文件
+     * @param sha256     文件内容的 SHA-256
+     * @param attachment 上传记录，见 {@link #store(InputStream, Attachment)}
+     */
+    public Attachment commit(Path temp, String sha256, long size, Attachment attachment) throws IOException {
+        Path target = resolve(sha256);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            boolean[] inserting = new boolean[1];
+            boolean[] missing = new boolean[1];
+            try {
+                Attachment saved = transactionTemplate.execute(status -> {
+                    if (storedFileRepository.incrementRefCount(sha256) == 0) {
+                        inserting[0] = true;
+                        storedFileRepository.insert(sha256, size);
+                        inserting[0] = false;
+                    }
+                    // 持有行锁时检查文件：记录存在但文件已被清理任务删除时也重新写入
+                    missing[0] = !Files.exists(target);
+                    attachment.setId(null);
+                    attachment.setHash(sha256);
+                    attachment.setSize(size);
+                    attachment.setUrl(downloadUrl(sha256, attachment.getOriginalName()));
+                    attachment.setCreateTime(LocalDateTime.now());
+                    return attachmentRepository.save(attachment);
+                });
+                if (missing[0]) {
+                    placeCommitted(temp, target, saved);
+                }
+                Files.deleteIfExists(temp);
+                return saved;
+            } catch (DataIntegrityViolationException e) {
+                // 只有插入内容记录时的主键冲突是并发首次上传，重试时按已存在处理；其他约束错误直接抛出
+                if (!inserting[0] || attempt >= MAX_COMMIT_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("文件 {} 已由并发上传写入，重新提交", sha256);
+            } catch (ConcurrencyFailureException e) {
+                // 并发首次上传时两个事务的插入可能互相等待间隙锁而死锁
+                if (attempt >= MAX_COMMIT_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("提交文件 {} 时发生锁冲突（{}），第 {} 次重试", sha256, e.getClass().getSimpleName(), attempt);
+            }
+        }
+    }
+
+    /**
+     * 事务提交后把临时文件移动到最终位置；移动失败时删除本次的上传记录并释放引用
+     */
+    private void placeCommitted(Path temp, Path target, Attachment saved) throws IOException {
+        try {
+            moveIntoPlace(temp, target);
+        } catch (UncheckedIOException e) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                attachmentRepository.deleteById(saved.getId());
+                release(saved.getHash(), 1);
+            });
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 释放文件内容的 count 个引用，引用计数降为 0 时删除记录和文件（在调用方事务中执行，行锁持有到事务结束）
+     *
+     * @return 文件是否已删除
+     */
+    public boolean release(String sha256, int count) {
+        Path target = resolve(sha256);
+        storedFileRepository.decrementRefCount(sha256, count);
+        if (storedFileRepository.deleteIfUnreferenced(sha256) == 0) {
+            return false;
+        }
+        try {
+            Files.deleteIfExists(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    /**
+     * 访问地址：/api/files/download/{sha256}.{扩展名}，扩展名取自原文件名，用于下载时确定内容类型
+     */
+    public static String downloadUrl(String sha256, String filename) {
+        int dot = filename.lastIndexOf('.');
+        String extension = dot == -1 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return "/api/files/download/" + sha256 + (extension.isEmpty() ? "" : "." + extension);
+    }
+
+    /**
+     * 从访问地址中取出文件摘要
+     *
+     * @return 摘要；不是 {@link #downloadUrl(String, String)} 格式的地址（如按日期目录保存的历史文件）返回 null
+     */
+    public static String hashOf(String url) {
+        Matcher matcher = url == null ? null : DOWNLOAD_URL.matcher(url);
+        return matcher != null && matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * 按摘要得到文件路径（不检查文件是否存在）
+     *
+     * @throws IllegalArgumentException 摘要格式错误
+     */
+    public Path resolve(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("文件摘要格式错误");
+        }
+        return Paths.get(uploadPath, OBJECTS_DIR, sha256.substring(0, 2), sha256.substring(2, 4), sha256);
+    }
+
+    /**
+     * 删除过期的临时文件
+     */
+    @Scheduled(initialDelayString = "${file.storage.temp-cleanup-interval-ms:3600000}",
+            fixedDelayString = "${file.storage.temp-cleanup-interval-ms:3600000}")
+    public void purgeTempFiles() {
+        Path dir = Paths.get(uploadPath, TEMP_DIR);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(TEMP_FILE_MAX_AGE);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理上传临时文件失败", e);
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.backend.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 磁盘 LRU 缓存
+ * 每个条目一个文件（文件名为“键.扩展名”），内存中按访问顺序记录条目和总大小，超过容量时删除最久未访问的文件；
+ * 启动时扫描目录重建索引，以文件修改时间近似访问顺序
+ */
+public class DiskLruCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DiskLruCache.class);
+
+    private final Path dir;
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    public DiskLruCache(Path dir, long maxBytes) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(dir);
+        load();
+    }
+
+    /**
+     * 读取缓存文件并标记为最近访问
+     *
+     * @return 文件路径，不存在时返回 null
+     */
+    public synchronized Path get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!Files.exists(entry.path)) {
+            entries.remove(key);
+            totalBytes -= entry.size;
+            return null;
+        }
+        return entry.path;
+    }
+
+    /**
+     * 把已写好的临时文件移入缓存（临时文件应在同一文件系统），必要时淘汰最久未访问的条目
+     *
+     * @param extension 缓存文件扩展名（不含点）
+     * @return 缓存文件路径
+     */
+    public Path put(String key, String extension, Path temp) throws IOException {
+        Path target = dir.resolve(key + "." + extension);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        long size = Files.size(target);
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(target, size));
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += size;
+            evict(key);
+        }
+        return target;
+    }
+
+    /**
+     * 临时文件目录（与缓存文件在同一文件系统）
+     */
+    public Path newTempFile() throws IOException {
+        return Files.createTempFile(dir, "tmp-", ".part");
+    }
+
+    /**
+     * 淘汰最久未访问的条目直到总大小不超过容量（不淘汰刚写入的条目）
+     */
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= eldest.getValue().size;
+            try {
+                Files.deleteIfExists(eldest.getValue().path);
+            } catch (IOException e) {
+                log.warn("删除缓存文件失败: {}", eldest.getValue().path, e);
+            }
+        }
+    }
+
+    private synchronized void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+        record Found(Path path, String key, long size, long modified) {
+        }
+        files.stream()
+                .map(path -> {
+                    String name = path.getFileName().toString();
+                    try {
+                        if (name.startsWith("tmp-")) {
+                            // 上次运行中断留下的临时文件
+                            Files.deleteIfExists(path);
+                            return null;
+                        }
+                        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                        int dot = name.lastIndexOf('.');
+                        return new Found(path, dot == -1 ? name : name.substring(0, dot), attributes.size(),
+                                attributes.lastModifiedTime().toMillis());
+                    } catch (IOException e) {
+                        return null;
+                    }
+                })
+                .filter(found -> found != null)
+                .sorted(Comparator.comparingLong(Found::modified))
+                .forEach(found -> {
+                    entries.put(found.key(), new Entry(found.path(), found.size()));
+                    totalBytes += found.size();
+                });
+        evict(null);
+        log.info("磁盘缓存 {}: {} 个文件，共 {} KB", dir, entries.size(), totalBytes / 1024);
+    }
+
+    private record Entry(Path path, long size) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.backend.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 图片缩略图与网页尺寸版本
+ * 图片上传后在有界线程池中异步生成各尺寸版本，保存在容量有限的磁盘 LRU 缓存中；
+ * 请求的版本不在缓存中（未预生成或已被淘汰）时提交生成任务，同一版本同时只生成一次。
+ * 原图有透明通道时输出 PNG（印章图片通常为透明背景），否则输出 JPEG；原图小于目标尺寸时不放大
+ */
+@Component
+public class ImageVariants {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariants.class);
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    /**
+     * 可处理的最大像素数（约 4000 万像素）
+     */
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    /**
+     * 图片版本：长边不超过指定像素
+     */
+    public enum Variant {
+        THUMBNAIL(160),
+        WEB(800);
+
+        private final int maxSide;
+
+        Variant(int maxSide) {
+            this.maxSide = maxSide;
+        }
+
+        /**
+         * 按名称查找（不区分大小写），不存在时返回 null
+         */
+        public static Variant of(String name) {
+            for (Variant variant : values()) {
+                if (variant.name().equalsIgnoreCase(name)) {
+                    return variant;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Value("${file.upload.path:uploads}")
+    private String uploadPath;
+
+    @Value("${file.image-variants.parallelism:2}")
+    private int parallelism;
+
+    @Value("${file.image-variants.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${file.image-variants.cache-max-mb:512}")
+    private long cacheMaxMb;
+
+    private SingleFlightExecutor<Path> executor;
+
+    private DiskLruCache cache;
+
+    @PostConstruct
+    public void start() throws IOException {
+        cache = new DiskLruCache(Paths.get(uploadPath, "variants"), cacheMaxMb * 1024 * 1024);
+        // 队列满时拒绝：上传后的预生成直接放弃，请求时生成返回繁忙
+        executor = new SingleFlightExecutor<>("image-variants-", parallelism, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 上传图片后预生成全部版本（队列已满时跳过，之后按需生成）
+     */
+    public void pregenerate(String sha256) {
+        for (Variant variant : Variant.values()) {
+            try {
+                variant(sha256, variant);
+            } catch (RejectedExecutionException e) {
+                log.debug("图片版本生成队列已满，跳过预生成: {}", sha256);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 取得图片版本，不在缓存中时提交生成任务
+     *
+     * @return 版本文件；原文件不存在或不是图片时以 IllegalArgumentException 结束
+     * @throws RejectedExecutionException 生成队列已满
+     */
+    public CompletableFuture<Path> variant(String sha256, Variant variant) {
+        String key = sha256 + "-" + variant.name().toLowerCase(Locale.ROOT);
+        Path cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return executor.submit(key, () -> generate(key, sha256, variant));
+    }
+
+    private Path generate(String key, String sha256, Variant variant) throws IOException {
+        Path cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Path source = contentStore.resolve(sha256);
+        if (!Files.isRegularFile(source)) {
+            throw new IllegalArgumentException("文件不存在");
+        }
+        BufferedImage image = read(source);
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        BufferedImage scaled = scale(image, variant.maxSide, alpha);
+        String format = alpha ? "png" : "jpg";
+        Path temp = cache.newTempFile();
+        try {
+            write(scaled, format, temp);
+            return cache.put(key, format, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 读取图片；先读取尺寸，像素数超过上限的图片不解码（解码后的位图按每像素 4 字节占用堆内存）
+     */
+    static BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("文件不是可识别的图片");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IllegalArgumentException("图片尺寸过大");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 按长边缩小到 maxSide 以内；缩小倍数较大时逐次减半后再缩放，避免单次双线性插值丢失细节
+     */
+    static BufferedImage scale(BufferedImage source, int maxSide, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxSide / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            if (current != source && current.getWidth() == width && current.getHeight() == height) {
+                break;
+            }
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    static void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.storage;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按键去重的后台任务执行器
+ * 有界线程池（低优先级守护线程，队列满时拒绝）执行耗时的生成任务；同一键的任务同时只执行一次，
+ * 执行期间再次提交同一键时返回同一个结果，任务结束后同一键可以再次提交
+ *
+ * @param <T> 任务结果类型
+ */
+public class SingleFlightExecutor<T> {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param threadNamePrefix 线程名前缀，线程名为“前缀 + 序号”
+     * @param parallelism      线程数
+     * @param queueCapacity    等待队列长度
+     */
+    public SingleFlightExecutor(String threadNamePrefix, int parallelism, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 提交任务；同一键的任务正在执行或排队时不再提交，直接返回其结果
+     *
+     * @return 任务结果；任务抛出异常时以该异常结束
+     * @throws RejectedExecutionException 队列已满
+     */
+    public CompletableFuture<T> submit(String key, Callable<T> task) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(task.call());
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            throw e;
+        }
+        return created;
+    }
+
+    /**
+     * 停止执行：中断正在执行的任务，丢弃排队的任务
+     */
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.backend.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 用印预览
+ * 把印章图片叠加到申请附件（PDF 或扫描图片）的指定页面上，生成仅供查看的预览 PDF：
+ * 各页在有界线程池中并行渲染为位图并盖上印章，按（附件、印章、页码、位置）缓存在磁盘 LRU 缓存中；
+ * 输出时逐页从缓存读取写入新的 PDF，文档内容暂存在临时文件中，边生成边写入输出流，不在堆中保留整个文件
+ */
+@Component
+public class StampPreviewRenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(StampPreviewRenderer.class);
+
+    private static final double MM_PER_INCH = 25.4;
+
+    /**
+     * 扫描图片没有物理尺寸，按 A4 纸宽度（毫米）换算印章大小
+     */
+    private static final double SCAN_WIDTH_MM = 210;
+
+    /**
+     * 单页渲染的最大像素数（约 4000 万像素）
+     */
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    /**
+     * 没有透明通道的印章图片中，RGB 均不低于该值的像素视为背景，盖章时去除
+     */
+    private static final int BACKGROUND_THRESHOLD = 235;
+
+    /**
+     * 印章位置：x、y 为印章中心在页面上的相对位置（自左上角，0~1），sizeMm 为印章长边尺寸（毫米）
+     */
+    public record Placement(double x, double y, double sizeMm) {
+
+        public Placement {
+            if (!(x >= 0 && x <= 1 && y >= 0 && y <= 1)) {
+                throw new IllegalArgumentException("印章位置应在 0~1 之间");
+            }
+            if (!(sizeMm > 0 && sizeMm <= 200)) {
+                throw new IllegalArgumentException("印章尺寸应在 0~200 毫米之间");
+            }
+        }
+
+        String key() {
+            return String.format(Locale.ROOT, "%.3f_%.3f_%.1f", x, y, sizeMm);
+        }
+    }
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Value("${file.upload.path:uploads}")
+    private String uploadPath;
+
+    @Value("${file.stamp-preview.parallelism:2}")
+    private int parallelism;
+
+    @Value("${file.stamp-preview.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${file.stamp-preview.dpi:110}")
+    private int dpi;
+
+    @Value("${file.stamp-preview.max-pages:20}")
+    private int maxPages;
+
+    @Value("${file.stamp-preview.cache-max-mb:256}")
+    private long cacheMaxMb;
+
+    private SingleFlightExecutor<Path> executor;
+
+    private DiskLruCache cache;
+
+    @PostConstruct
+    public void start() throws IOException {
+        cache = new DiskLruCache(Paths.get(uploadPath, "stamp-previews"), cacheMaxMb * 1024 * 1024);
+        executor = new SingleFlightExecutor<>("stamp-preview-", parallelism, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 解析预览页码
+     *
+     * @param spec 页码（从 1 开始），如 "1,3-5"；为空时取最后一页
+     * @return 升序、去重的页码（从 0 开始）
+     * @throws IllegalArgumentException 附件不存在或无法预览、页码格式错误或超出范围、页数超过上限
+     */
+    public List<Integer> selectPages(String documentSha256, String spec) throws IOException {
+        int pageCount = pageCount(source(documentSha256, "附件不存在"));
+        if (spec == null || spec.isBlank()) {
+            return List.of(pageCount - 1);
+        }
+        TreeSet<Integer> pages = new TreeSet<>();
+        try {
+            for (String part : spec.split(",")) {
+                String[] range = part.trim().split("-", 2);
+                int from = Integer.parseInt(range[0].trim());
+                int to = range.length == 2 ? Integer.parseInt(range[1].trim()) : from;
+                if (from < 1 || to < from || to > pageCount) {
+                    throw new IllegalArgumentException("页码超出范围（共 " + pageCount + " 页）: " + part.trim());
+                }
+                if (to - from >= maxPages) {
+                    throw new IllegalArgumentException("单次最多预览 " + maxPages + " 页");
+                }
+                for (int page = from; page <= to; page++) {
+                    pages.add(page - 1);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("页码格式错误: " + spec);
+        }
+        if (pages.size() > maxPages) {
+            throw new IllegalArgumentException("单次最多预览 " + maxPages + " 页");
+        }
+        return new ArrayList<>(pages);
+    }
+
+    /**
+     * 并行渲染各页（已缓存的页直接完成，同一页同时只渲染一次）
+     *
+     * @return 全部页渲染完成时完成；附件或印章图片无法读取时以 IllegalArgumentException 结束
+     * @throws RejectedExecutionException 渲染队列已满
+     */
+    public CompletableFuture<Void> render(String documentSha256, String sealSha256, List<Integer> pages,
+            Placement placement) {
+        List<CompletableFuture<Path>> futures = new ArrayList<>(pages.size());
+        for (int page : pages) {
+            futures.add(page(documentSha256, sealSha256, page, placement));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * 把各页写成预览 PDF（每页一张图片，页面尺寸与原页面一致）；
+     * 页面图片已被缓存淘汰时在当前线程重新渲染
+     */
+    public void writePdf(String documentSha256, String sealSha256, List<Integer> pages, Placement placement,
+            OutputStream out) throws IOException {
+        try (PDDocument pdf = new PDDocument(IOUtils.createTempFileOnlyStreamCache())) {
+            for (int page : pages) {
+                String key = key(documentSha256, sealSha256, page, placement);
+                PDImageXObject image;
+                try (InputStream in = openPage(key, documentSha256, sealSha256, page, placement)) {
+                    image = JPEGFactory.createFromStream(pdf, in);
+                }
+                PDPage pdPage = new PDPage(new PDRectangle(image.getWidth() * 72f / dpi,
+                        image.getHeight() * 72f / dpi));
+                pdf.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(pdf, pdPage)) {
+                    content.drawImage(image, 0, 0, pdPage.getMediaBox().getWidth(),
+                            pdPage.getMediaBox().getHeight());
+                }
+            }
+            pdf.save(out);
+        }
+    }
+
+    private CompletableFuture<Path> page(String documentSha256, String sealSha256, int page, Placement placement) {
+        String key = key(documentSha256, sealSha256, page, placement);
+        Path cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return executor.submit(key, () -> renderPage(key, documentSha256, sealSha256, page, placement));
+    }
+
+    private InputStream openPage(String key, String documentSha256, String sealSha256, int page,
+            Placement placement) throws IOException {
+        Path cached = cache.get(key);
+        if (cached != null) {
+            try {
+                return Files.newInputStream(cached);
+            } catch (NoSuchFileException e) {
+                log.debug("预览页面已被缓存淘汰，重新渲染: {}", key);
+            }
+        }
+        return Files.newInputStream(renderPage(key, documentSha256, sealSha256, page, placement));
+    }
+
+    private Path renderPage(String key, String documentSha256, String sealSha256, int page, Placement placement)
+            throws IOException {
+        Path cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Path document = source(documentSha256, "附件不存在");
+        BufferedImage image = isPdf(document) ? renderPdfPage(document, page) : renderScan(document);
+        stamp(image, ImageVariants.read(source(sealSha256, "印章图片不存在")), placement);
+
+        Path temp = cache.newTempFile();
+        try {
+            ImageVariants.write(image, "jpg", temp);
+            return cache.put(key, "jpg", temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private BufferedImage renderPdfPage(Path document, int page) throws IOException {
+        try (PDDocument pdf = load(document)) {
+            PDRectangle box = pdf.getPage(page).getCropBox();
+            if ((double) box.getWidth() * dpi / 72 * box.getHeight() * dpi / 72 > MAX_PIXELS) {
+                throw new IllegalArgumentException("页面尺寸过大");
+            }
+            return new PDFRenderer(pdf).renderImageWithDPI(page, dpi, ImageType.RGB);
+        }
+    }
+
+    /**
+     * 扫描图片按 A4 纸宽度缩放到渲染分辨率（不放大）
+     */
+    private BufferedImage renderScan(Path document) throws IOException {
+        BufferedImage scan = ImageVariants.read(document);
+        double ratio = SCAN_WIDTH_MM / MM_PER_INCH * dpi / scan.getWidth();
+        int maxSide = (int) Math.round(Math.max(scan.getWidth(), scan.getHeight()) * ratio);
+        return ImageVariants.scale(scan, maxSide, false);
+    }
+
+    /**
+     * 按位置和尺寸把印章画到页面上；没有透明通道的印章图片先去除浅色背景
+     */
+    private void stamp(BufferedImage page, BufferedImage seal, Placement placement) {
+        int side = Math.max(1, (int) Math.round(placement.sizeMm() / MM_PER_INCH * dpi));
+        BufferedImage scaled = ImageVariants.scale(seal.getColorModel().hasAlpha() ? seal : removeBackground(seal),
+                side, true);
+        int x = (int) Math.round(placement.x() * page.getWidth() - scaled.getWidth() / 2.0);
+        int y = (int) Math.round(placement.y() * page.getHeight() - scaled.getHeight() / 2.0);
+        Graphics2D graphics = page.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(scaled, x, y, null);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    private static BufferedImage removeBackground(BufferedImage seal) {
+        BufferedImage result = new BufferedImage(seal.getWidth(), seal.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < seal.getHeight(); y++) {
+            for (int x = 0; x < seal.getWidth(); x++) {
+                int rgb = seal.getRGB(x, y);
+                boolean background = (rgb >> 16 & 0xff) >= BACKGROUND_THRESHOLD
+                        && (rgb >> 8 & 0xff) >= BACKGROUND_THRESHOLD
+                        && (rgb & 0xff) >= BACKGROUND_THRESHOLD;
+                result.setRGB(x, y, background ? 0 : rgb | 0xff000000);
+            }
+        }
+        return result;
+    }
+
+    private int pageCount(Path document) throws IOException {
+        if (!isPdf(document)) {
+            // 扫描图片视为一页，读取失败时抛出“不是可识别的图片”
+            ImageVariants.read(document);
+            return 1;
+        }
+        try (PDDocument pdf = load(document)) {
+            if (pdf.getNumberOfPages() == 0) {
+                throw new IllegalArgumentException("PDF 没有页面");
+            }
+            return pdf.getNumberOfPages();
+        }
+    }
+
+    /**
+     * 打开 PDF，解析出的流内容暂存在临时文件中
+     */
+    private static PDDocument load(Path document) throws IOException {
+        try {
+            return Loader.loadPDF(document.toFile(), IOUtils.createTempFileOnlyStreamCache());
+        } catch (InvalidPasswordException e) {
+            throw new IllegalArgumentException("PDF 已加密，无法预览");
+        }
+    }
+
+    /**
+     * PDF 文件头（%PDF-）应出现在前 1024 字节内
+     */
+    private static boolean isPdf(Path document) throws IOException {
+        byte[] head = new byte[1024];
+        int length;
+        try (InputStream in = Files.newInputStream(document)) {
+            length = in.readNBytes(head, 0, head.length);
+        }
+        return new String(head, 0, length, StandardCharsets.ISO_8859_1).contains("%PDF-");
+    }
+
+    private Path source(String sha256, String missingMessage) {
+        Path path = contentStore.resolve(sha256);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException(missingMessage);
+        }
+        return path;
+    }
+
+    private String key(String documentSha256, String sealSha256, int page, Placement placement) {
+        return documentSha256 + "-" + sealSha256 + "-p" + page + "-" + placement.key() + "-" + dpi;
+    }
+}
@@ -0,0 +1,91 @@
+-- 基线表结构（与引入迁移前线上库由 ddl-auto=update 生成的结构一致，不含之后新增的列和索引）
+-- 已有数据的库通过 baseline-on-migrate 直接标记为版本 1，不会执行本脚本
+
+CREATE TABLE users (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    username    VARCHAR(50)  NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    real_name   VARCHAR(100) NOT NULL,
+    email       VARCHAR(100),
+    phone       VARCHAR(20),
+    department  VARCHAR(100),
+    position    VARCHAR(100),
+    role        ENUM ('ADMIN','KEEPER','MANAGER','USER') NOT NULL,
+    status      ENUM ('ACTIVE','INACTIVE','PENDING') NOT NULL,
+    avatar      VARCHAR(255),
+    bio         VARCHAR(500),
+    login_count INTEGER,
+    last_login  DATETIME(6),
+    create_time DATETIME(6),
+    update_time DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE seals (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    name              VARCHAR(100) NOT NULL,
+    type              ENUM ('CONTRACT','FINANCE','HR','LEGAL','OFFICIAL','PERSONAL') NOT NULL,
+    shape             ENUM ('OVAL','ROUND','SQUARE') NOT NULL,
+    status            ENUM ('DESTROYED','IN_USE','LOST','SUSPENDED') NOT NULL,
+    owner_department  VARCHAR(100),
+    keeper_department VARCHAR(100),
+    description       VARCHAR(500),
+    image_url         VARCHAR(255),
+    keeper            VARCHAR(100),
+    keeper_phone      VARCHAR(20),
+    location          VARCHAR(200),
+    create_time       DATETIME(6)  NOT NULL,
+    update_time       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE seal_applications (
+    id                     BIGINT       NOT NULL AUTO_INCREMENT,
+    application_no         VARCHAR(50)  NOT NULL,
+    seal_name              VARCHAR(100) NOT NULL,
+    seal_type              ENUM ('CONTRACT','FINANCE','HR','LEGAL','OFFICIAL','PERSONAL') NOT NULL,
+    seal_shape             ENUM ('OVAL','ROUND','SQUARE') NOT NULL,
+    seal_owner_department  VARCHAR(100),
+    seal_keeper_department VARCHAR(100),
+    applicant              VARCHAR(100) NOT NULL,
+    department             VARCHAR(100) NOT NULL,
+    file_name              VARCHAR(200),
+    addressee              VARCHAR(200),
+    copies                 INTEGER,
+    purpose                TEXT         NOT NULL,
+    attachment_url         VARCHAR(500),
+    attachment_name        VARCHAR(500),
+    expected_time          DATETIME(6),
+    status                 ENUM ('APPROVED','COMPLETED','PENDING','REJECTED') NOT NULL,
+    approver               VARCHAR(100),
+    approve_time           DATETIME(6),
+    approve_remark         TEXT,
+    documents              VARCHAR(500),
+    apply_time             DATETIME(6),
+    update_time            DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_seal_applications_application_no UNIQUE (application_no)
+) ENGINE = InnoDB;
+
+CREATE TABLE seal_create_applications (
+    id                   BIGINT       NOT NULL AUTO_INCREMENT,
+    application_no       VARCHAR(50)  NOT NULL,
+    seal_name            VARCHAR(100) NOT NULL,
+    seal_type            ENUM ('CONTRACT','FINANCE','HR','LEGAL','OFFICIAL','PERSONAL') NOT NULL,
+    seal_shape           ENUM ('OVAL','ROUND','SQUARE') NOT NULL,
+    owner_department     VARCHAR(100) NOT NULL,
+    keeper_department    VARCHAR(100) NOT NULL,
+    keeper               VARCHAR(50)  NOT NULL,
+    description          VARCHAR(500),
+    applicant            VARCHAR(50)  NOT NULL,
+    applicant_department VARCHAR(100) NOT NULL,
+    status               ENUM ('APPROVED','PENDING','REJECTED') NOT NULL,
+    approver             VARCHAR(50),
+    approve_time         DATETIME(6),
+    approve_remark       VARCHAR(500),
+    apply_time           DATETIME(6),
+    update_time          DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_seal_create_applications_application_no UNIQUE (application_no)
+) ENGINE = InnoDB;
@@ -0,0 +1,27 @@
+-- 按实际查询路径建立的组合索引
+
+-- 用印申请：待审批/已完成列表（status + 按申请时间排序）、我的申请、部门筛选与统计、审批时长统计
+CREATE INDEX idx_seal_applications_status_apply_time ON seal_applications (status, apply_time);
+CREATE INDEX idx_seal_applications_applicant_apply_time ON seal_applications (applicant, apply_time);
+CREATE INDEX idx_seal_applications_department ON seal_applications (department);
+CREATE INDEX idx_seal_applications_approve_time ON seal_applications (approve_time);
+
+-- 刻章申请：待审批列表、我的申请
+CREATE INDEX idx_seal_create_applications_status_apply_time ON seal_create_applications (status, apply_time);
+CREATE INDEX idx_seal_create_applications_applicant_apply_time ON seal_create_applications (applicant, apply_time);
+
+-- 用户：按姓名（含拼音匹配到的姓名）查询
+CREATE INDEX idx_users_real_name ON users (real_name);
+
+-- 印章：保管人待审批队列按保管人取印章，按名称关联申请
+CREATE INDEX idx_seals_keeper ON seals (keeper);
+CREATE INDEX idx_seals_name ON seals (name);
+
+-- 用印申请关联印章：新增印章ID列（已有申请由启动时的回填任务按印章名称关联），按印章和状态查询
+ALTER TABLE seal_applications
+    ADD COLUMN seal_id BIGINT;
+CREATE INDEX idx_seal_applications_seal_status ON seal_applications (seal_id, status);
+
+-- 用印申请关联印章：印章删除后申请保留并解除关联
+ALTER TABLE seal_applications
+    ADD CONSTRAINT fk_seal_applications_seal FOREIGN KEY (seal_id) REFERENCES seals (id) ON DELETE SET NULL;
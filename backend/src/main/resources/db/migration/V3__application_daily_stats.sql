@@ -0,0 +1,34 @@
+-- 用印申请日汇总（按申请日期 × 部门 × 印章 × 状态计数，seal_id = 0 表示未关联印章）
+CREATE TABLE application_daily_stats (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    stat_date         DATE         NOT NULL,
+    department        VARCHAR(100) NOT NULL,
+    seal_id           BIGINT       NOT NULL,
+    status            VARCHAR(20)  NOT NULL,
+    application_count BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_application_daily_stats_key UNIQUE (stat_date, department, seal_id, status)
+) ENGINE = InnoDB;
+
+-- 统计增量：申请变更时追加，由后台任务合并到日汇总后删除
+CREATE TABLE application_stat_deltas (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    stat_date   DATE         NOT NULL,
+    department  VARCHAR(100) NOT NULL,
+    seal_id     BIGINT       NOT NULL,
+    status      VARCHAR(20)  NOT NULL,
+    delta       INTEGER      NOT NULL,
+    create_time DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- 由现有申请生成初始日汇总；未关联印章的申请按启动回填的规则（同名印章中ID最小者）归属
+INSERT INTO application_daily_stats (stat_date, department, seal_id, status, application_count)
+SELECT t.stat_date, t.department, t.seal_id, t.status, COUNT(*)
+FROM (SELECT CAST(sa.apply_time AS DATE) AS stat_date,
+             sa.department,
+             COALESCE(sa.seal_id, (SELECT MIN(s.id) FROM seals s WHERE s.name = sa.seal_name), 0) AS seal_id,
+             sa.status
+      FROM seal_applications sa
+      WHERE sa.apply_time IS NOT NULL) t
+GROUP BY t.stat_date, t.department, t.seal_id, t.status;
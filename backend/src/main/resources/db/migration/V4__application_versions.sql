@@ -0,0 +1,3 @@
+-- 乐观锁版本号：审批、完成、撤回按 (id, status, version) 条件更新
+ALTER TABLE seal_applications ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE seal_create_applications ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- 编号序列：按“前缀 + 日期”分配申请编号，各实例按块预留
+CREATE TABLE number_sequences (
+    name       VARCHAR(50) NOT NULL,
+    next_value BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+-- 已有的用印申请编号（YY + 日期 + 随机序号）从当日最大序号之后继续分配，避免与新编号重复；
+-- 印章创建申请原编号为 SC + 6 位数字，与新格式长度不同，无需处理
+INSERT INTO number_sequences (name, next_value)
+SELECT LEFT(application_no, 10), MAX(CAST(SUBSTRING(application_no, 11) AS DECIMAL(10, 0))) + 1
+FROM seal_applications
+WHERE application_no LIKE 'YY%' AND CHAR_LENGTH(application_no) = 14
+GROUP BY LEFT(application_no, 10);
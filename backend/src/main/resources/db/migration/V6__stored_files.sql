@@ -0,0 +1,8 @@
+-- 内容寻址文件存储：每个不同内容（按 SHA-256）一行，ref_count 为引用该内容的上传次数
+CREATE TABLE stored_files (
+    hash        CHAR(64)    NOT NULL,
+    size        BIGINT      NOT NULL,
+    ref_count   INTEGER     NOT NULL,
+    create_time DATETIME(6) NOT NULL,
+    PRIMARY KEY (hash)
+) ENGINE = InnoDB;
@@ -0,0 +1,19 @@
+-- 上传记录：每次上传一行，url 为返回给客户端的访问地址，hash 关联 stored_files（同一内容可有多条上传记录）
+CREATE TABLE attachments (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    url           VARCHAR(255) NOT NULL,
+    hash          CHAR(64)     NOT NULL,
+    original_name VARCHAR(255) NOT NULL,
+    category      VARCHAR(50)  NOT NULL,
+    content_type  VARCHAR(100),
+    size          BIGINT       NOT NULL,
+    create_time   DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_attachments_url ON attachments (url);
+CREATE INDEX idx_attachments_hash ON attachments (hash);
+
+-- 无引用附件清理：按 URL 批量检查申请附件、印章图片是否仍被引用
+CREATE INDEX idx_seal_applications_attachment_url ON seal_applications (attachment_url);
+CREATE INDEX idx_seals_image_url ON seals (image_url);
@@ -0,0 +1,53 @@
+package com.example.backend.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void keepsLineBreaksInsideQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a\r\nb\",\"c\rd\"\r\ne,\"f\ng\"\nh,i"));
+
+        assertThat(reader.readRecord()).containsExactly("a\r\nb", "c\rd");
+        assertThat(reader.getRecordLineNumber()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("e", "f\ng");
+        assertThat(reader.getRecordLineNumber()).isEqualTo(3);
+        assertThat(reader.readRecord()).containsExactly("h", "i");
+        assertThat(reader.getRecordLineNumber()).isEqualTo(5);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"say \"\"hi\"\"\",\"\"\"\",\"\"\r\n"));
+
+        assertThat(reader.readRecord()).containsExactly("say \"hi\"", "\"", "");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void keepsEmptyFieldsAndSkipsBom() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\uFEFFa,,b,\r\n,\n"));
+
+        assertThat(reader.readRecord()).containsExactly("a", "", "b", "");
+        assertThat(reader.readRecord()).containsExactly("", "");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuoteAtEndOfInput() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("ok,1\nx,\"unterminated\nstill open"));
+
+        assertThat(reader.readRecord()).isEqualTo(List.of("ok", "1"));
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("第 2 行引号未闭合");
+    }
+}
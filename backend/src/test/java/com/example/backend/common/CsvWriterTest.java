@@ -0,0 +1,54 @@
+package com.example.backend.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    private static String write(Object... fields) throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).writeRecord(fields);
+        return out.toString();
+    }
+
+    @Test
+    void quotesFieldsContainingSeparators() throws IOException {
+        assertThat(write("a,b", "say \"hi\"", "line1\nline2", "plain", null))
+                .isEqualTo("\"a,b\",\"say \"\"hi\"\"\",\"line1\nline2\",plain,\r\n");
+    }
+
+    @Test
+    void prefixesFormulaTriggers() throws IOException {
+        assertThat(write("=1+1", "+86", "-5", "@SUM(A1)", "\tx", "\rx"))
+                .isEqualTo("\"'=1+1\",\"'+86\",\"'-5\",\"'@SUM(A1)\",\"'\tx\",\"'\rx\"\r\n");
+    }
+
+    @Test
+    void leavesOrdinaryValuesUnchanged() throws IOException {
+        assertThat(write("合同盖章", "2025-01-01 10:00:00", "a=b", "")).isEqualTo("合同盖章,2025-01-01 10:00:00,a=b,\r\n");
+    }
+
+    @Test
+    void roundTripsThroughReaderAndPrefixStripping() throws IOException {
+        String[] values = { "=HYPERLINK(\"http://x\")", "-", "'", "'=already", "'plain", "普通文本", "a,b\r\nc" };
+        CsvReader reader = new CsvReader(new StringReader(write((Object[]) values)));
+        List<String> record = reader.readRecord();
+        assertThat(record).hasSize(values.length);
+        for (int i = 0; i < values.length; i++) {
+            assertThat(CsvWriter.stripFormulaPrefix(record.get(i))).isEqualTo(values[i]);
+        }
+    }
+
+    @Test
+    void stripKeepsHandWrittenApostrophes() {
+        assertThat(CsvWriter.stripFormulaPrefix("'abc")).isEqualTo("'abc");
+        assertThat(CsvWriter.stripFormulaPrefix("'")).isEqualTo("'");
+        assertThat(CsvWriter.stripFormulaPrefix("'-3")).isEqualTo("-3");
+    }
+}
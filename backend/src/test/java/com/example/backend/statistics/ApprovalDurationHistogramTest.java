@@ -0,0 +1,208 @@
+package com.example.backend.statistics;
+
+import com.example.backend.entity.SealApplication;
+import com.example.backend.event.SealApplicationChangedEvent;
+import com.example.backend.event.SealApplicationSnapshot;
+import com.example.backend.repository.SealApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApprovalDurationHistogramTest {
+
+    private static final LocalDateTime APPLY_TIME = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    /**
+     * 各用例中固定的最快、最慢记录，使被修改的申请不是极值，移除时不会触发后台重建
+     */
+    private static final long FASTEST_ID = 1L;
+    private static final long SLOWEST_ID = 2L;
+
+    private final SealApplicationRepository repository = mock(SealApplicationRepository.class);
+
+    private final ApprovalDurationHistogram histogram = new ApprovalDurationHistogram();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(histogram, "applicationRepository", repository);
+        ReflectionTestUtils.setField(histogram, "enabled", true);
+    }
+
+    @Test
+    void upperBoundMapsBackToItsBucket() {
+        int lastIndex = ApprovalDurationHistogram.bucketIndex(Long.MAX_VALUE);
+        assertThat(ApprovalDurationHistogram.bucketUpperBound(lastIndex)).isEqualTo(Long.MAX_VALUE);
+        for (int i = 0; i <= lastIndex; i++) {
+            long upper = ApprovalDurationHistogram.bucketUpperBound(i);
+            assertThat(ApprovalDurationHistogram.bucketIndex(upper)).isEqualTo(i);
+            if (i > 0) {
+                // 桶的下界紧接上一个桶的上界，桶之间没有空隙
+                long lower = ApprovalDurationHistogram.bucketUpperBound(i - 1) + 1;
+                assertThat(ApprovalDurationHistogram.bucketIndex(lower)).isEqualTo(i);
+            }
+        }
+    }
+
+    @Test
+    void upperBoundIsWithinOneEighthOfValue() {
+        List<Long> samples = new ArrayList<>();
+        for (long minutes = 0; minutes <= 20000; minutes++) {
+            samples.add(minutes);
+        }
+        for (int exponent = 14; exponent < 63; exponent++) {
+            samples.add((1L << exponent) - 1);
+            samples.add(1L << exponent);
+            samples.add((1L << exponent) + (1L << (exponent - 4)));
+        }
+        for (long minutes : samples) {
+            long upper = ApprovalDurationHistogram.bucketUpperBound(ApprovalDurationHistogram.bucketIndex(minutes));
+            assertThat(upper).as("minutes=%d", minutes).isGreaterThanOrEqualTo(minutes);
+            assertThat(upper - minutes).as("minutes=%d", minutes).isLessThanOrEqualTo(minutes / 8);
+        }
+    }
+
+    @Test
+    void percentileIsBucketUpperBoundCappedAtSlowest() {
+        assertThat(histogram.percentileMinutes(50)).isNull();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            rows.add(row(id, id));
+        }
+        scan(List.of(rows), Map.of());
+
+        for (double percentile : new double[] { 0.1, 1, 25, 50, 90, 95, 99, 99.9, 100 }) {
+            long exact = (long) Math.ceil(percentile / 100.0 * 1000);
+            Long estimate = histogram.percentileMinutes(percentile);
+            assertThat(estimate).as("p%s", percentile).isBetween(exact, Math.min(1000, exact + exact / 8));
+        }
+        assertThat(histogram.percentileMinutes(100)).isEqualTo(1000L);
+    }
+
+    @Test
+    void changeReflectedInScanIsNotReplayed() {
+        scan(List.of(withExtremes(row(3, 30))),
+                Map.of(0, () -> commit(snapshot(3, null), snapshot(3, 30L))));
+
+        assertThat(histogram.count()).isEqualTo(3);
+        assertThat(histogram.rangeCounts()[0]).isEqualTo(2);
+    }
+
+    @Test
+    void changeCommittedAfterRowWasReadIsReplayed() {
+        // 读取时申请尚未审批，读取结果中没有该申请
+        scan(List.of(withExtremes()),
+                Map.of(0, () -> commit(snapshot(3, null), snapshot(3, 30L))));
+
+        assertThat(histogram.count()).isEqualTo(3);
+        assertThat(histogram.rangeCounts()[0]).isEqualTo(2);
+    }
+
+    @Test
+    void changeToAlreadyScannedRowIsReplayed() {
+        List<Object[]> firstBatch = withExtremes();
+        for (long id = 3; id <= 1000; id++) {
+            firstBatch.add(row(id, 30));
+        }
+        // 第二批查询时，第一批中的申请 3 被修改（50 小时，落在 3 天以内）
+        scan(List.of(firstBatch, List.of()),
+                Map.of(1, () -> commit(snapshot(3, 30L), snapshot(3, 3000L))));
+
+        assertThat(histogram.count()).isEqualTo(1000);
+        assertThat(histogram.rangeCounts()[2]).isEqualTo(1);
+        assertThat(histogram.rangeCounts()[0]).isEqualTo(998);
+    }
+
+    @Test
+    void onlyChangesAfterTheReadStateAreReplayed() {
+        // 同一申请先审批（30 分钟）再改为 3000 分钟，读取到的是第一次变更后的状态
+        scan(List.of(withExtremes(row(3, 30))), Map.of(0, () -> {
+            commit(snapshot(3, null), snapshot(3, 30L));
+            commit(snapshot(3, 30L), snapshot(3, 3000L));
+        }));
+
+        assertThat(histogram.count()).isEqualTo(3);
+        assertThat(histogram.rangeCounts()[0]).isEqualTo(1);
+        assertThat(histogram.rangeCounts()[2]).isEqualTo(1);
+    }
+
+    @Test
+    void noChangesAreReplayedWhenReadStateIsTheLatest() {
+        scan(List.of(withExtremes(row(3, 3000))), Map.of(0, () -> {
+            commit(snapshot(3, null), snapshot(3, 30L));
+            commit(snapshot(3, 30L), snapshot(3, 3000L));
+        }));
+
+        assertThat(histogram.count()).isEqualTo(3);
+        assertThat(histogram.rangeCounts()[0]).isEqualTo(1);
+        assertThat(histogram.rangeCounts()[2]).isEqualTo(1);
+    }
+
+    @Test
+    void allChangesAreReplayedWhenReadStatePrecedesThem() {
+        scan(List.of(withExtremes()), Map.of(0, () -> {
+            commit(snapshot(3, null), snapshot(3, 30L));
+            commit(snapshot(3, 30L), snapshot(3, 3000L));
+        }));
+
+        assertThat(histogram.count()).isEqualTo(3);
+        assertThat(histogram.rangeCounts()[0]).isEqualTo(1);
+        assertThat(histogram.rangeCounts()[2]).isEqualTo(1);
+    }
+
+    /**
+     * 按批返回查询结果后同步重建；duringQuery 中的变更在对应批次的查询执行期间提交
+     */
+    private void scan(List<List<Object[]>> batches, Map<Integer, Runnable> duringQuery) {
+        AtomicInteger calls = new AtomicInteger();
+        when(repository.findApprovalDurations(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            int call = calls.getAndIncrement();
+            duringQuery.getOrDefault(call, () -> {
+            }).run();
+            return call < batches.size() ? batches.get(call) : List.of();
+        });
+        histogram.rebuild();
+        assertThat(histogram.isReady()).isTrue();
+    }
+
+    private void commit(SealApplicationSnapshot before, SealApplicationSnapshot after) {
+        histogram.onApplicationChanged(new SealApplicationChangedEvent(before, after));
+    }
+
+    private static List<Object[]> withExtremes(Object[]... rows) {
+        Map<Long, Object[]> byId = new HashMap<>();
+        byId.put(FASTEST_ID, row(FASTEST_ID, 1));
+        byId.put(SLOWEST_ID, row(SLOWEST_ID, 100000));
+        for (Object[] row : rows) {
+            byId.put((Long) row[0], row);
+        }
+        List<Object[]> result = new ArrayList<>(byId.values());
+        result.sort((a, b) -> Long.compare((Long) a[0], (Long) b[0]));
+        return result;
+    }
+
+    private static Object[] row(long id, long minutes) {
+        return new Object[] { id, "YY" + id, APPLY_TIME, APPLY_TIME.plusMinutes(minutes) };
+    }
+
+    private static SealApplicationSnapshot snapshot(long id, Long minutes) {
+        SealApplication.ApplicationStatus status = minutes == null ? SealApplication.ApplicationStatus.PENDING
+                : SealApplication.ApplicationStatus.APPROVED;
+        return SealApplicationSnapshot.ofState(new Object[] { id, "YY" + id, "公章", null, "张三", "财务部", status,
+                APPLY_TIME, minutes == null ? null : APPLY_TIME.plusMinutes(minutes) });
+    }
+}
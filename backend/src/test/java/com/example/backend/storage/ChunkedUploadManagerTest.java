@@ -0,0 +1,114 @@
+package com.example.backend.storage;
+
+import com.example.backend.dto.ChunkedUploadStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChunkedUploadManagerTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private final byte[] content = new byte[CHUNK_SIZE * 2 + 100];
+
+    private ChunkedUploadManager manager;
+
+    @BeforeEach
+    void setUp() {
+        new Random(42).nextBytes(content);
+        manager = newManager();
+    }
+
+    @Test
+    void failedChunkIsNotMarkedAndCanBeResent() throws Exception {
+        String uploadId = manager.init("a.bin", "application/octet-stream", content.length, CHUNK_SIZE, null)
+                .uploadId();
+        writeChunk(manager, uploadId, 0);
+
+        // 校验失败的分块不标记为已收到
+        assertThatThrownBy(() -> manager.writeChunk(uploadId, 1, new ByteArrayInputStream(chunk(1)),
+                sha256(new byte[] { 1 }))).isInstanceOf(IllegalArgumentException.class);
+        // 重传已收到的分块中途失败时，清除其已收到标记
+        assertThatThrownBy(() -> manager.writeChunk(uploadId, 0,
+                new ByteArrayInputStream(Arrays.copyOf(chunk(0), 10)), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(manager.status(uploadId).receivedChunks()).isEmpty();
+        assertThatThrownBy(() -> manager.complete(uploadId, null, tempDir.resolve("out.bin")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        for (int index = 0; index < 3; index++) {
+            writeChunk(manager, uploadId, index);
+        }
+        Path target = tempDir.resolve("out.bin");
+        assertThat(manager.complete(uploadId, sha256(content), target)).isEqualTo(sha256(content));
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    void resumesFromDiskAfterRestart() throws Exception {
+        String uploadId = manager.init("a.bin", "application/octet-stream", content.length, CHUNK_SIZE,
+                sha256(content)).uploadId();
+        writeChunk(manager, uploadId, 0);
+        writeChunk(manager, uploadId, 2);
+        writeChunk(manager, uploadId, 1);
+        // 服务中断前分块 1 的重传失败：重启后该分块仍需重传
+        assertThatThrownBy(() -> manager.writeChunk(uploadId, 1,
+                new ByteArrayInputStream(Arrays.copyOf(chunk(1), 10)), null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        ChunkedUploadManager restarted = newManager();
+        ChunkedUploadStatus status = restarted.status(uploadId);
+        assertThat(status.filename()).isEqualTo("a.bin");
+        assertThat(status.chunkCount()).isEqualTo(3);
+        assertThat(status.receivedChunks()).containsExactly(0, 2);
+
+        writeChunk(restarted, uploadId, 1);
+        Path target = tempDir.resolve("out.bin");
+        assertThat(restarted.complete(uploadId, null, target)).isEqualTo(sha256(content));
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    private ChunkedUploadManager newManager() {
+        ChunkedUploadManager created = new ChunkedUploadManager();
+        ReflectionTestUtils.setField(created, "uploadPath", tempDir.toString());
+        ReflectionTestUtils.setField(created, "maxSize", 1024L * 1024 * 1024);
+        ReflectionTestUtils.setField(created, "defaultChunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(created, "expireHours", 24L);
+        return created;
+    }
+
+    private void writeChunk(ChunkedUploadManager target, String uploadId, int index) throws IOException {
+        byte[] chunk = chunk(index);
+        target.writeChunk(uploadId, index, new ByteArrayInputStream(chunk), sha256(chunk));
+    }
+
+    private byte[] chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        return Arrays.copyOfRange(content, from, Math.min(from + CHUNK_SIZE, content.length));
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.backend.storage;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadWriterTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    private static final String ETAG = "abc";
+
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-01-01T08:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private final FileDownloadWriter writer = new FileDownloadWriter();
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve("file.txt");
+        Files.writeString(file, CONTENT, StandardCharsets.US_ASCII);
+        Files.setLastModifiedTime(file, FileTime.from(LAST_MODIFIED));
+    }
+
+    @Test
+    void servesSingleRange() throws IOException {
+        MockHttpServletResponse response = download(HttpHeaders.RANGE, "bytes=2-5");
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/20");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    void servesSuffixRange() throws IOException {
+        MockHttpServletResponse response = download(HttpHeaders.RANGE, "bytes=-4");
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 16-19/20");
+        assertThat(response.getContentAsString()).isEqualTo("ghij");
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws IOException {
+        MockHttpServletResponse response = download(HttpHeaders.RANGE, "bytes=20-30");
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void servesFullContentForMultipleRanges() throws IOException {
+        MockHttpServletResponse response = download(HttpHeaders.RANGE, "bytes=0-1,4-5");
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeEtagIsStale() throws IOException {
+        MockHttpServletResponse response = download(HttpHeaders.RANGE, "bytes=2-5", HttpHeaders.IF_RANGE, "\"old\"");
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeDateIsStale() throws IOException {
+        MockHttpServletResponse response = download(HttpHeaders.RANGE, "bytes=2-5",
+                HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED.minusSeconds(60)));
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void servesRangeWhenIfRangeMatches() throws IOException {
+        MockHttpServletResponse byEtag = download(HttpHeaders.RANGE, "bytes=2-5",
+                HttpHeaders.IF_RANGE, "\"" + ETAG + "\"");
+        MockHttpServletResponse byDate = download(HttpHeaders.RANGE, "bytes=2-5",
+                HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED));
+
+        assertThat(byEtag.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(byEtag.getContentAsString()).isEqualTo("2345");
+        assertThat(byDate.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(byDate.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    void returnsNotModifiedWhenIfNoneMatchMatches() throws IOException {
+        MockHttpServletResponse response = download(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\"");
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private MockHttpServletResponse download(String... headers) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/file.txt");
+        for (int i = 0; i < headers.length; i += 2) {
+            request.addHeader(headers[i], headers[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(file, "file.txt", ETAG, request, response);
+        return response;
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+}
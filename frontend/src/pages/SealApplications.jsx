@@ -274,7 +274,7 @@ const SealApplications = ({ currentTab = "pending" }) => {
               <div className="font-medium text-gray-900">
                 {record.applicationNo}
               </div>
-              <div className="text-sm text-gray-500">{record.purpose}</div>
+              <div className="text-sm text-gray-500">{record.purposePreview}</div>
             </div>
           </div>
           <div className="flex items-center space-x-2">
@@ -406,11 +406,19 @@ const SealApplications = ({ currentTab = "pending" }) => {
     },
   ];
 
-  const handleView = (record) => {
-    console.log("查看详情 - 记录数据:", record);
+  // 列表只返回摘要字段，查看和编辑时按ID获取完整申请
+  const fetchApplicationDetail = async (id) => {
+    const response = await applicationAPI.getApplicationById(id);
+    if (response && response.success) {
+      return response.data;
+    }
+    throw new Error(response?.message || "获取申请详情失败");
+  };
 
+  const handleView = async (record) => {
     try {
-      setViewingRecord(record);
+      const detail = await fetchApplicationDetail(record.id);
+      setViewingRecord(detail);
       setIsViewModalVisible(true);
     } catch (error) {
       console.error("显示详情时出错:", error);
@@ -418,7 +426,15 @@ const SealApplications = ({ currentTab = "pending" }) => {
     }
   };
 
-  const handleEdit = (record) => {
+  const handleEdit = async (summary) => {
+    let record;
+    try {
+      record = await fetchApplicationDetail(summary.id);
+    } catch (error) {
+      console.error("获取申请详情失败:", error);
+      message.error("无法加载申请详情，请重试");
+      return;
+    }
     setEditingApplication(record);
     form.setFieldsValue({
       ...record,
@@ -237,19 +237,32 @@ const SealApproval = () => {
   }, [fetchApplications, fetchDurationStatistics]);
 
   // 查看申请详情
-  const handleView = (record) => {
-    setSelectedApplication(record);
-    setIsModalVisible(true);
+  // 列表只返回摘要字段，查看时按ID获取完整申请
+  const handleView = async (record) => {
+    try {
+      const response = await applicationAPI.getApplicationById(record.id);
+      if (response && response.success) {
+        setSelectedApplication(response.data);
+        setIsModalVisible(true);
+      } else {
+        message.error(response?.message || "获取申请详情失败");
+      }
+    } catch (error) {
+      console.error("获取申请详情失败:", error);
+      message.error("获取申请详情失败");
+    }
   };
 
   // 审批申请
-  const handleApprove = async (id, status, remark = "") => {
+  // version 为列表或详情加载时的版本号，期间申请被他人修改则审批失败
+  const handleApprove = async (id, status, remark = "", version) => {
     try {
       const response = await applicationAPI.approveApplication(
         id,
         status,
         currentUser.realName,
-        remark
+        remark,
+        version
       );
 
       if (response.success) {
@@ -273,7 +286,8 @@ const SealApproval = () => {
     await handleApprove(
       selectedApplication.id,
       values.status,
-      values.remark || ""
+      values.remark || "",
+      selectedApplication.version
     );
   };
 
@@ -340,7 +354,7 @@ const SealApproval = () => {
     },
     {
       title: "用印目的",
-      dataIndex: "purpose",
+      dataIndex: "purposePreview",
       key: "purpose",
       width: 200,
       render: (purpose) => (
@@ -389,7 +403,9 @@ const SealApproval = () => {
               <Tooltip title="批准">
                 <Popconfirm
                   title="确定要批准这个申请吗？"
-                  onConfirm={() => handleApprove(record.id, "APPROVED")}
+                  onConfirm={() =>
+                    handleApprove(record.id, "APPROVED", "", record.version)
+                  }
                   okText="确定"
                   cancelText="取消"
                 >
@@ -370,11 +370,19 @@ const SealCreateApplications = () => {
     },
   ];
 
-  const handleView = (record) => {
-    console.log("查看详情 - 记录数据:", record);
+  // 列表只返回摘要字段，查看和编辑时按ID获取完整申请
+  const fetchApplicationDetail = async (id) => {
+    const response = await sealCreateApplicationAPI.getApplicationById(id);
+    if (response && response.success) {
+      return response.data;
+    }
+    throw new Error(response?.message || "获取申请详情失败");
+  };
 
+  const handleView = async (record) => {
     try {
-      setViewingRecord(record);
+      const detail = await fetchApplicationDetail(record.id);
+      setViewingRecord(detail);
       setIsViewModalVisible(true);
     } catch (error) {
       console.error("显示详情时出错:", error);
@@ -382,7 +390,15 @@ const SealCreateApplications = () => {
     }
   };
 
-  const handleEdit = (record) => {
+  const handleEdit = async (summary) => {
+    let record;
+    try {
+      record = await fetchApplicationDetail(summary.id);
+    } catch (error) {
+      console.error("获取申请详情失败:", error);
+      message.error("无法加载申请详情，请重试");
+      return;
+    }
     setEditingApplication(record);
     form.setFieldsValue({
       ...record,
@@ -482,10 +498,12 @@ const SealCreateApplications = () => {
       const values = approvalForm.getFieldsValue();
       const remark = values.remark || "";
 
+      // 带上列表加载时的版本号，期间申请被他人修改则审批失败
       const response = await sealCreateApplicationAPI.approveApplication(id, {
         status,
         approver: currentUser.username,
         remark,
+        version: approvalRecord?.version,
       });
 
       if (response && response.success) {
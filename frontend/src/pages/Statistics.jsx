@@ -28,7 +28,7 @@ import {
 } from "@ant-design/icons";
 import ReactECharts from "echarts-for-react";
 import dayjs from "dayjs";
-import { userAPI, applicationAPI, sealAPI } from "../services/api";
+import { statisticsAPI } from "../services/api";
 
 const { RangePicker } = DatePicker;
 const { Option } = Select;
@@ -64,14 +64,22 @@ const Statistics = () => {
   const fetchAllStatistics = async () => {
     setLoading(true);
     try {
-      await Promise.all([
-        fetchUserStatistics(),
-        fetchApplicationStatistics(),
-        fetchSealUsageStatistics(),
-        fetchDepartmentStatistics(),
-        fetchMonthlyTrend(),
-        fetchSealStatistics(),
-      ]);
+      // 一次请求获取全部统计，后端并行查询
+      const response = await statisticsAPI.getDashboard(6);
+      if (!response.success) {
+        message.error("获取统计数据失败：" + (response.message || "未知错误"));
+        return;
+      }
+      const { sections = {}, errors = {} } = response.data || {};
+      Object.entries(errors).forEach(([name, error]) =>
+        console.error(`统计项 ${name} 获取失败:`, error)
+      );
+      applyUserStatistics(sections.userStatistics);
+      applyApplicationStatistics(sections.applicationStatistics);
+      applySealUsageStatistics(sections.sealUsageStatistics);
+      applyDepartmentStatistics(sections.departmentStatistics);
+      applyMonthlyTrend(sections.monthlyTrend);
+      applySealStatistics(sections.sealStatistics);
     } catch (error) {
       message.error("获取统计数据失败：" + (error.message || "未知错误"));
     } finally {
@@ -79,147 +87,107 @@ const Statistics = () => {
     }
   };
 
-  const fetchUserStatistics = async () => {
-    try {
-      const response = await userAPI.getUserStatistics();
-      if (response.success) {
-        setUserStatistics(response.data || {});
-      } else {
-        console.error("获取用户统计失败:", response.message);
-      }
-    } catch (error) {
-      console.error("获取用户统计失败:", error);
+  const applyUserStatistics = (stats) => {
+    if (stats) {
+      setUserStatistics(stats);
     }
   };
 
-  const fetchApplicationStatistics = async () => {
-    try {
-      const response = await applicationAPI.getApplicationStatistics();
-      if (response.success) {
-        const stats = response.data || {};
-        setApplicationStatistics(stats);
-
-        // 计算印章使用率
-        const totalApplications = stats.totalApplications || 0;
-        const approvedApplications = stats.byStatus?.APPROVED || 0;
-        const usageRate =
-          totalApplications > 0
-            ? Math.round((approvedApplications / totalApplications) * 100)
-            : 0;
-
-        // 更新概览数据
-        setOverviewData((prev) => ({
-          ...prev,
-          totalApplications: totalApplications,
-          approvedApplications: approvedApplications,
-          rejectedApplications: stats.byStatus?.REJECTED || 0,
-          averageProcessingTime: stats.averageProcessingTime?.toFixed(1) || "0",
-          usageRate: usageRate,
-        }));
-      } else {
-        console.error("获取申请统计失败:", response.message);
-      }
-    } catch (error) {
-      console.error("获取申请统计失败:", error);
+  const applyApplicationStatistics = (stats) => {
+    if (!stats) {
+      return;
     }
+    setApplicationStatistics(stats);
+
+    // 计算印章使用率
+    const totalApplications = stats.totalApplications || 0;
+    const approvedApplications = stats.byStatus?.APPROVED || 0;
+    const usageRate =
+      totalApplications > 0
+        ? Math.round((approvedApplications / totalApplications) * 100)
+        : 0;
+
+    // 更新概览数据
+    setOverviewData((prev) => ({
+      ...prev,
+      totalApplications: totalApplications,
+      approvedApplications: approvedApplications,
+      rejectedApplications: stats.byStatus?.REJECTED || 0,
+      averageProcessingTime: stats.averageProcessingTime?.toFixed(1) || "0",
+      usageRate: usageRate,
+    }));
   };
 
-  const fetchSealUsageStatistics = async () => {
-    try {
-      const response = await applicationAPI.getSealUsageStatistics();
-      if (response.success) {
-        const usageData = (response.data || []).map((item, index) => ({
-          key: index,
-          sealName: item.sealName,
-          type: "OFFICIAL", // 默认类型，实际项目中应该从后端获取
-          usageCount: item.usageCount,
-          percentage: 0, // 需要计算百分比
-        }));
-
-        // 计算百分比
-        const totalUsage = usageData.reduce(
-          (sum, item) => sum + item.usageCount,
-          0
-        );
-        usageData.forEach((item) => {
-          item.percentage =
-            totalUsage > 0
-              ? Math.round((item.usageCount / totalUsage) * 100)
-              : 0;
-        });
-
-        setSealUsageData(usageData);
-
-        // 更新最常用印章
-        if (usageData.length > 0) {
-          setOverviewData((prev) => ({
-            ...prev,
-            mostUsedSeal: usageData[0].sealName,
-          }));
-        }
-      } else {
-        console.error("获取印章使用统计失败:", response.message);
-      }
-    } catch (error) {
-      console.error("获取印章使用统计失败:", error);
+  const applySealUsageStatistics = (stats) => {
+    if (!stats) {
+      return;
+    }
+    const usageData = stats.map((item, index) => ({
+      key: index,
+      sealName: item.sealName,
+      type: "OFFICIAL", // 默认类型，实际项目中应该从后端获取
+      usageCount: item.usageCount,
+      percentage: 0, // 需要计算百分比
+    }));
+
+    // 计算百分比
+    const totalUsage = usageData.reduce(
+      (sum, item) => sum + item.usageCount,
+      0
+    );
+    usageData.forEach((item) => {
+      item.percentage =
+        totalUsage > 0 ? Math.round((item.usageCount / totalUsage) * 100) : 0;
+    });
+
+    setSealUsageData(usageData);
+
+    // 更新最常用印章
+    if (usageData.length > 0) {
+      setOverviewData((prev) => ({
+        ...prev,
+        mostUsedSeal: usageData[0].sealName,
+      }));
     }
   };
 
-  const fetchDepartmentStatistics = async () => {
-    try {
-      const response = await applicationAPI.getDepartmentStatistics();
-      if (response.success) {
-        const deptData = (response.data || []).map((item, index) => ({
-          key: index,
-          department: item.department,
-          applicationCount: item.count,
-          // 这些数据需要后端提供更详细的统计
-          approvedCount: Math.floor(item.count * 0.85), // 假设85%通过率
-          rejectedCount: Math.floor(item.count * 0.15), // 假设15%拒绝率
-        }));
-        setDepartmentData(deptData);
-      } else {
-        console.error("获取部门统计失败:", response.message);
-      }
-    } catch (error) {
-      console.error("获取部门统计失败:", error);
+  const applyDepartmentStatistics = (stats) => {
+    if (!stats) {
+      return;
     }
+    const deptData = stats.map((item, index) => ({
+      key: index,
+      department: item.department,
+      applicationCount: item.count,
+      // 这些数据需要后端提供更详细的统计
+      approvedCount: Math.floor(item.count * 0.85), // 假设85%通过率
+      rejectedCount: Math.floor(item.count * 0.15), // 假设15%拒绝率
+    }));
+    setDepartmentData(deptData);
   };
 
-  const fetchMonthlyTrend = async () => {
-    try {
-      const response = await applicationAPI.getMonthlyTrend(6);
-      if (response.success) {
-        const trendData = (response.data || []).map((item) => ({
-          month: item.month,
-          applications: item.count,
-          // 这些数据需要后端提供更详细的统计
-          approved: Math.floor(item.count * 0.85),
-          rejected: Math.floor(item.count * 0.15),
-        }));
-        setMonthlyTrendData(trendData);
-      } else {
-        console.error("获取月度趋势失败:", response.message);
-      }
-    } catch (error) {
-      console.error("获取月度趋势失败:", error);
+  const applyMonthlyTrend = (stats) => {
+    if (!stats) {
+      return;
     }
+    const trendData = stats.map((item) => ({
+      month: item.month,
+      applications: item.count,
+      // 这些数据需要后端提供更详细的统计
+      approved: Math.floor(item.count * 0.85),
+      rejected: Math.floor(item.count * 0.15),
+    }));
+    setMonthlyTrendData(trendData);
   };
 
-  const fetchSealStatistics = async () => {
-    try {
-      const response = await sealAPI.getSealStatistics();
-      if (response.success) {
-        setOverviewData((prev) => ({
-          ...prev,
-          totalSeals: response.data.total || 0,
-        }));
-      } else {
-        console.error("获取印章统计失败:", response.message);
-      }
-    } catch (error) {
-      console.error("获取印章统计失败:", error);
+  const applySealStatistics = (stats) => {
+    if (!stats) {
+      return;
     }
+    setOverviewData((prev) => ({
+      ...prev,
+      totalSeals: stats.total || 0,
+    }));
   };
 
   // 获取印章使用情况饼图配置
@@ -200,12 +200,18 @@ export const applicationAPI = {
   getCompletedApplications: (params) =>
     api.get("/api/applications/completed", { params }),
 
-  // 审批申请
-  approveApplication: (id, status, approver, remark) =>
-    api.post(`/api/applications/${id}/approve`, { status, approver, remark }),
+  // 审批申请（version 为加载申请时的版本号，期间被修改则审批失败）
+  approveApplication: (id, status, approver, remark, version) =>
+    api.post(`/api/applications/${id}/approve`, {
+      status,
+      approver,
+      remark,
+      version,
+    }),
 
-  // 完成申请
-  completeApplication: (id) => api.post(`/api/applications/${id}/complete`),
+  // 完成申请（version 同上）
+  completeApplication: (id, version) =>
+    api.post(`/api/applications/${id}/complete`, null, { params: { version } }),
 
   // 撤回申请
   withdrawApplication: (id, applicant) =>
@@ -263,6 +269,22 @@ export const applicationAPI = {
   // 获取特定保管人的待审批申请
   getKeeperPendingApplications: (keeper, params) =>
     api.get(`/api/applications/keeper/${keeper}/pending`, { params }),
+
+  // 用印预览（PDF）地址：pages 如 "1,3-4"（默认最后一页），x、y 为印章中心在页面上的相对位置（0~1），
+  // size 为印章尺寸（毫米），sealId 默认使用申请的印章
+  stampPreviewUrl: (id, params = {}) => {
+    const query = new URLSearchParams(
+      Object.entries(params).filter(([, value]) => value != null && value !== "")
+    ).toString();
+    return `/api/applications/${id}/stamp-preview${query ? `?${query}` : ""}`;
+  },
+};
+
+// 统计相关API
+export const statisticsAPI = {
+  // 获取统计页全部数据（后端并行查询，一次返回）
+  getDashboard: (months = 6) =>
+    api.get(`/api/statistics/dashboard?months=${months}`),
 };
 
 // 认证相关API
@@ -307,6 +329,90 @@ export const fileAPI = {
     });
   },
 
+  // 流式上传：请求体直接为文件内容，不经过 multipart 解析
+  uploadFileStream: (file, type = "attachment", { onProgress } = {}) =>
+    api.post("/api/files/upload/stream", file, {
+      params: { filename: file.name, type },
+      headers: { "Content-Type": file.type || "application/octet-stream" },
+      timeout: 120000,
+      onUploadProgress: onProgress,
+    }),
+
+  // 分块上传：创建任务 / 查询已收到的分块 / 上传分块 / 完成 / 取消
+  initChunkedUpload: (data) => api.post("/api/files/uploads", data),
+  getChunkedUpload: (uploadId) => api.get(`/api/files/uploads/${uploadId}`),
+  uploadChunk: (uploadId, index, blob) =>
+    api.put(`/api/files/uploads/${uploadId}/chunks/${index}`, blob, {
+      headers: { "Content-Type": "application/octet-stream" },
+      timeout: 120000,
+    }),
+  completeChunkedUpload: (uploadId, data = {}) =>
+    api.post(`/api/files/uploads/${uploadId}/complete`, data),
+  abortChunkedUpload: (uploadId) => api.delete(`/api/files/uploads/${uploadId}`),
+
+  // 大文件分块并行上传；传入上次的 uploadId 时只补传缺少的分块
+  uploadFileChunked: async (
+    file,
+    type = "attachment",
+    { uploadId, concurrency = 3, retries = 3, onProgress } = {}
+  ) => {
+    let status = uploadId ? await fileAPI.getChunkedUpload(uploadId) : null;
+    if (!status || !status.success) {
+      status = await fileAPI.initChunkedUpload({
+        filename: file.name,
+        size: file.size,
+        type,
+      });
+      if (!status.success) {
+        return status;
+      }
+    }
+    const { chunkSize, chunkCount, receivedChunks } = status.data;
+    const received = new Set(receivedChunks);
+    const pending = [];
+    for (let i = 0; i < chunkCount; i++) {
+      if (!received.has(i)) {
+        pending.push(i);
+      }
+    }
+
+    let failed = null;
+    const worker = async () => {
+      while (pending.length > 0 && !failed) {
+        const index = pending.shift();
+        const blob = file.slice(index * chunkSize, (index + 1) * chunkSize);
+        let result;
+        for (let attempt = 0; attempt < retries; attempt++) {
+          result = await fileAPI.uploadChunk(status.data.uploadId, index, blob);
+          if (result.success) {
+            break;
+          }
+        }
+        if (!result.success) {
+          failed = result;
+          return;
+        }
+        received.add(index);
+        if (onProgress) {
+          onProgress(received.size / chunkCount, status.data.uploadId);
+        }
+      }
+    };
+    await Promise.all(
+      Array.from({ length: Math.min(concurrency, chunkCount) }, worker)
+    );
+    if (failed) {
+      return { ...failed, data: { uploadId: status.data.uploadId } };
+    }
+    return fileAPI.completeChunkedUpload(status.data.uploadId);
+  },
+
+  // 图片缩略图（thumbnail）/ 网页尺寸（web）版本地址；非按内容保存的历史文件返回原地址
+  imageVariantUrl: (url, variant = "thumbnail") => {
+    const match = /\/api\/files\/download\/([0-9a-f]{64})(\.[A-Za-z0-9]+)?$/.exec(url || "");
+    return match ? `/api/files/images/${match[1]}/${variant}` : url;
+  },
+
   // 下载文件
   downloadFile: (url) => {
     return api.get(url, {